@@ -0,0 +1,167 @@
+package com.github.forax.vmboiler.bench;
+
+import static org.objectweb.asm.Opcodes.*;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.forax.vmboiler.CodeGen;
+import com.github.forax.vmboiler.Type;
+import com.github.forax.vmboiler.Var;
+import com.github.forax.vmboiler.rt.OptimisticError;
+import com.github.forax.vmboiler.rt.RT;
+
+/**
+ * Cost of a call to a generated method that increments an int and returns a mixed int,
+ * with the return values that doesn't fit in an int either thrown as an {@link OptimisticError}
+ * or returned as a sentinel value with the real value in the carrier
+ * ({@link CodeGen.Option#CARRIER_RETURN}).
+ *
+ * With {@code value} equals to 0, the result always fits in an int so the benchmarks measure
+ * the cost of the sentinel checks, with {@code value} equals to {@link Integer#MAX_VALUE},
+ * the result never fits so the benchmarks measure the two protocols.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarrierBenchmark {
+  enum Types implements Type {
+    INT, INT_MIXED
+    ;
+    @Override
+    public boolean isMixed() {
+      return this == INT_MIXED;
+    }
+    @Override
+    public String vmType() {
+      return Type.VM_INT;
+    }
+  }
+
+  private static final Object[] EMPTY_ARRAY = new Object[0];
+
+  private static final String OWNER = CarrierBenchmark.class.getName().replace('.', '/');
+  private static final Handle BSM = new Handle(H_INVOKESTATIC, OWNER, "bsm",
+      MethodType.methodType(CallSite.class, Lookup.class, String.class, MethodType.class).toMethodDescriptorString());
+  private static final Handle DEOPT_ARGS = new Handle(H_INVOKESTATIC, OWNER, "deopt_args",
+      MethodType.methodType(boolean.class, Lookup.class, String.class, MethodType.class, Object[].class).toMethodDescriptorString());
+  private static final Handle DEOPT_RET = new Handle(H_INVOKESTATIC, OWNER, "deopt_return",
+      MethodType.methodType(boolean.class, Lookup.class, String.class, MethodType.class, Object.class).toMethodDescriptorString());
+
+  // static final so the JIT sees the method handles as constants and can inline their targets
+  private static final MethodHandle THROWING = load("Throwing", generate("Throwing", "inc"));
+  private static final MethodHandle CARRIER = load("Carrier", generate("Carrier", "incCarried", CodeGen.Option.CARRIER_RETURN));
+
+  @Param({ "0", "2147483647" })
+  public int value;
+
+  @Benchmark
+  public Object throwing() throws Throwable {
+    try {
+      return (int)THROWING.invokeExact(value);
+    } catch(OptimisticError e) {
+      return e.value();
+    }
+  }
+
+  @Benchmark
+  public Object carrier() throws Throwable {
+    int result = (int)CARRIER.invokeExact(value);
+    if (result == RT.INT_SENTINEL) {
+      Object carried = RT.takeCarried();
+      if (carried != RT.NONE) {
+        return carried;
+      }
+    }
+    return result;
+  }
+
+  public static CallSite bsm(Lookup lookup, String name, MethodType methodType) throws ReflectiveOperationException {
+    return new ConstantCallSite(MethodHandles.lookup().findStatic(CarrierBenchmark.class, name, methodType));
+  }
+
+  // never called, the argument is not mixed
+  public static boolean deopt_args(Lookup lookup, String name, MethodType methodType, Object[] values) {
+    return true;
+  }
+
+  public static boolean deopt_return(Lookup lookup, String name, MethodType methodType, Object value) {
+    return true;
+  }
+
+  // the overflow is not detected with Math.addExact to not measure the cost of an ArithmeticException
+  public static int inc(int value) {
+    long result = value + 1L;
+    if ((int)result != result) {
+      throw OptimisticError.newOptimisticError(result);
+    }
+    return (int)result;
+  }
+
+  public static int incCarried(int value) {
+    long result = value + 1L;
+    if ((int)result != result) {
+      return RT.carryInt(result);
+    }
+    return (int)result;
+  }
+
+  // generate a method m(I)I that returns the result of the call to name
+  static byte[] generate(String className, String name, CodeGen.Option... options) {
+    ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS|ClassWriter.COMPUTE_FRAMES);
+    writer.visit(V1_8, ACC_PUBLIC|ACC_SUPER, className, null, "java/lang/Object", null);
+    MethodVisitor mv = writer.visitMethod(ACC_PUBLIC|ACC_STATIC, "m", "(I)I", null, null);
+    mv.visitCode();
+    CodeGen codeGen = new CodeGen(mv, Types.INT_MIXED, options);
+    Var n = codeGen.createVar(Types.INT);
+    Var result = codeGen.createVar(Types.INT_MIXED);
+    codeGen.call(BSM, EMPTY_ARRAY, DEOPT_ARGS, DEOPT_RET, EMPTY_ARRAY, result, name, n);
+    codeGen.ret(result);
+    codeGen.end();
+    mv.visitMaxs(-1, -1);
+    mv.visitEnd();
+    writer.visitEnd();
+    return writer.toByteArray();
+  }
+
+  private static final class Loader extends ClassLoader {
+    Loader() {
+      super(CarrierBenchmark.class.getClassLoader());
+    }
+
+    Class<?> define(String name, byte[] bytecode) {
+      return defineClass(name, bytecode, 0, bytecode.length);
+    }
+  }
+
+  private static MethodHandle load(String className, byte[] bytecode) {
+    Class<?> clazz = new Loader().define(className, bytecode);
+    try {
+      return MethodHandles.publicLookup().findStatic(clazz, "m", MethodType.methodType(int.class, int.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.github.forax.vmboiler.bench;
+
+import static org.objectweb.asm.Opcodes.*;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.forax.vmboiler.CodeGen;
+import com.github.forax.vmboiler.Constant;
+import com.github.forax.vmboiler.Type;
+import com.github.forax.vmboiler.Var;
+
+/**
+ * Throughput of the code generation of synthetic methods, a method is a loop
+ * with {@code size} optimistic calls and {@code size} intrinsics on mixed ints.
+ * The generated bytecodes are never loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeGenBenchmark {
+  enum Types implements Type {
+    INT, INT_MIXED, BOOL
+    ;
+    @Override
+    public boolean isMixed() {
+      return this == INT_MIXED;
+    }
+    @Override
+    public String vmType() {
+      return (this == BOOL)? Type.VM_BOOLEAN: Type.VM_INT;
+    }
+  }
+
+  private static final Object[] EMPTY_ARRAY = new Object[0];
+
+  // the bootstrap methods are never called
+  private static final String RT = "bench/RT";
+  private static final Handle BSM = new Handle(H_INVOKESTATIC, RT, "bsm",
+      MethodType.methodType(CallSite.class, Lookup.class, String.class, MethodType.class).toMethodDescriptorString());
+  private static final Handle DEOPT_ARGS = new Handle(H_INVOKESTATIC, RT, "deopt_args",
+      MethodType.methodType(boolean.class, Lookup.class, String.class, MethodType.class, Object[].class).toMethodDescriptorString());
+  private static final Handle DEOPT_RET = new Handle(H_INVOKESTATIC, RT, "deopt_return",
+      MethodType.methodType(boolean.class, Lookup.class, String.class, MethodType.class, Object.class).toMethodDescriptorString());
+
+  // a method is limited to 64K of bytecodes, with the side exits in the method
+  // the generation fails with "Method code too large" above about 550
+  @Param({ "10", "100", "500" })
+  public int size;
+
+  @Benchmark
+  public byte[] callsAndIntrinsics() {
+    return generate(size, false);
+  }
+
+  @Benchmark
+  public byte[] callsAndIntrinsicsWithColdSideExits() {
+    return generate(size, true);
+  }
+
+  static byte[] generate(int size, boolean coldSideExits) {
+    ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS|ClassWriter.COMPUTE_FRAMES);
+    writer.visit(V1_8, ACC_PUBLIC|ACC_SUPER, "Synthetic", null, "java/lang/Object", null);
+    MethodVisitor mv = writer.visitMethod(ACC_PUBLIC|ACC_STATIC, "m", "(I)I", null, null);
+    mv.visitCode();
+    CodeGen codeGen = new CodeGen(mv, Types.INT_MIXED);
+    Var n = codeGen.createVar(Types.INT);
+    Var acc = codeGen.createVar(Types.INT_MIXED);
+    Constant one = new Constant(Types.INT, 1);
+    codeGen.move(acc, one);
+    Label loop = new Label();
+    Label end = new Label();
+    codeGen.label(loop);
+    Var test = codeGen.createVar(Types.BOOL);
+    codeGen.call(BSM, EMPTY_ARRAY, DEOPT_ARGS, DEOPT_RET, EMPTY_ARRAY, test, "lt", acc, n);
+    codeGen.jumpIfFalse(test, end);
+    codeGen.release(test);
+    for(int i = 0; i < size; i++) {
+      Var tmp = codeGen.createVar(Types.INT_MIXED);
+      codeGen.call(BSM, EMPTY_ARRAY, DEOPT_ARGS, DEOPT_RET, EMPTY_ARRAY, tmp, "mul", acc, one);
+      codeGen.intrinsic(IADD, BSM, EMPTY_ARRAY, DEOPT_ARGS, DEOPT_RET, EMPTY_ARRAY, acc, "add", tmp, one);
+      codeGen.release(tmp);
+    }
+    codeGen.jump(loop);
+    codeGen.label(end);
+    codeGen.ret(acc);
+    if (coldSideExits) {
+      codeGen.end(writer, "Synthetic", "m$deopt");
+    } else {
+      codeGen.end();
+    }
+    mv.visitMaxs(-1, -1);
+    mv.visitEnd();
+    writer.visitEnd();
+    return writer.toByteArray();
+  }
+}
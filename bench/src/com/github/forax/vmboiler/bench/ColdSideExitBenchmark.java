@@ -0,0 +1,132 @@
+package com.github.forax.vmboiler.bench;
+
+import static org.objectweb.asm.Opcodes.*;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.forax.vmboiler.CodeGen;
+import com.github.forax.vmboiler.Type;
+import com.github.forax.vmboiler.Var;
+
+/**
+ * Cost of a call to a small generated method whose side exits are either generated
+ * in the method ({@link CodeGen#end()}) or outlined into cold methods
+ * ({@link CodeGen#end(org.objectweb.asm.ClassVisitor, String, String)}).
+ *
+ * The method computes {@link #SIZE} times its argument with additions on mixed ints,
+ * the hot path is the same but with the side exits in the method, the bytecode size
+ * of the method (356 bytes) is bigger than the size limit of the JIT for inlining
+ * a hot method (FreqInlineSize, 325 bytes) while with the side exits outlined
+ * the method is smaller (265 bytes) and can be inlined. The side exits are never taken.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColdSideExitBenchmark {
+  enum Types implements Type {
+    INT, INT_MIXED
+    ;
+    @Override
+    public boolean isMixed() {
+      return this == INT_MIXED;
+    }
+    @Override
+    public String vmType() {
+      return Type.VM_INT;
+    }
+  }
+
+  private static final Object[] EMPTY_ARRAY = new Object[0];
+
+  // the bootstrap methods are never called because the additions never overflow
+  private static final String RT = "bench/RT";
+  private static final Handle BSM = new Handle(H_INVOKESTATIC, RT, "bsm",
+      MethodType.methodType(CallSite.class, Lookup.class, String.class, MethodType.class).toMethodDescriptorString());
+  private static final Handle DEOPT_ARGS = new Handle(H_INVOKESTATIC, RT, "deopt_args",
+      MethodType.methodType(boolean.class, Lookup.class, String.class, MethodType.class, Object[].class).toMethodDescriptorString());
+  private static final Handle DEOPT_RET = new Handle(H_INVOKESTATIC, RT, "deopt_return",
+      MethodType.methodType(boolean.class, Lookup.class, String.class, MethodType.class, Object.class).toMethodDescriptorString());
+
+  static final int SIZE = 8;
+
+  // static final so the JIT sees the method handles as constants and can inline their targets
+  private static final MethodHandle INLINE_SIDE_EXITS = load("InlineSideExits", generate("InlineSideExits", SIZE, false));
+  private static final MethodHandle COLD_SIDE_EXITS = load("ColdSideExits", generate("ColdSideExits", SIZE, true));
+
+  public int value = 42;
+
+  @Benchmark
+  public int inlineSideExits() throws Throwable {
+    return (int)INLINE_SIDE_EXITS.invokeExact(value);
+  }
+
+  @Benchmark
+  public int coldSideExits() throws Throwable {
+    return (int)COLD_SIDE_EXITS.invokeExact(value);
+  }
+
+  // generate a method m(I)I that returns size times its argument
+  static byte[] generate(String className, int size, boolean coldSideExits) {
+    ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS|ClassWriter.COMPUTE_FRAMES);
+    writer.visit(V1_8, ACC_PUBLIC|ACC_SUPER, className, null, "java/lang/Object", null);
+    MethodVisitor mv = writer.visitMethod(ACC_PUBLIC|ACC_STATIC, "m", "(I)I", null, null);
+    mv.visitCode();
+    CodeGen codeGen = new CodeGen(mv, Types.INT_MIXED);
+    Var n = codeGen.createVar(Types.INT);
+    Var acc = codeGen.createVar(Types.INT_MIXED);
+    codeGen.move(acc, n);
+    for(int i = 1; i < size; i++) {
+      codeGen.intrinsic(IADD, BSM, EMPTY_ARRAY, DEOPT_ARGS, DEOPT_RET, EMPTY_ARRAY, acc, "add", acc, n);
+    }
+    codeGen.ret(acc);
+    if (coldSideExits) {
+      codeGen.end(writer, className, "m$deopt");
+    } else {
+      codeGen.end();
+    }
+    mv.visitMaxs(-1, -1);
+    mv.visitEnd();
+    writer.visitEnd();
+    return writer.toByteArray();
+  }
+
+  private static final class Loader extends ClassLoader {
+    Loader() {
+      super(ColdSideExitBenchmark.class.getClassLoader());
+    }
+
+    Class<?> define(String name, byte[] bytecode) {
+      return defineClass(name, bytecode, 0, bytecode.length);
+    }
+  }
+
+  private static MethodHandle load(String className, byte[] bytecode) {
+    Class<?> clazz = new Loader().define(className, bytecode);
+    try {
+      return MethodHandles.publicLookup().findStatic(clazz, "m", MethodType.methodType(int.class, int.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package com.github.forax.vmboiler.bench;
+
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.forax.vmboiler.rt.OptimisticError;
+import com.github.forax.vmboiler.sample.script.Linker;
+import com.github.forax.vmboiler.sample.script.Parser;
+import com.github.forax.vmboiler.sample.script.Script;
+
+/**
+ * Latency of the first generation of a specialization, of a deoptimization
+ * and of a deoptimization followed by the regeneration of the code.
+ * Each measured call uses a new linker so nothing is shared between the calls.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 200)
+@Measurement(iterations = 200)
+@Fork(1)
+public class DeoptBenchmark {
+  private static final String SOURCE =
+      "fn (add a, b:\n" +
+      "  a + b)\n";
+  private static final MethodType ADD_TYPE = MethodType.methodType(int.class, int.class, int.class);
+
+  @State(Scope.Benchmark)
+  public static class Source {
+    Script script;
+    private PrintStream out;
+
+    @Setup
+    public void setup() {
+      out = Silence.discardOut();
+      script = Parser.parse(new StringReader(SOURCE));
+    }
+
+    @TearDown
+    public void tearDown() {
+      System.setOut(out);
+    }
+  }
+
+  // a linker that has not generated any code
+  @State(Scope.Thread)
+  public static class Cold {
+    Linker linker;
+
+    @Setup(Level.Invocation)
+    public void setup(Source source) {
+      linker = new Linker(source.script);
+    }
+  }
+
+  // a linker with the code of add(int, int) generated and executed once
+  @State(Scope.Thread)
+  public static class Warm {
+    MethodHandle add;
+
+    @Setup(Level.Invocation)
+    public void setup(Source source) throws Throwable {
+      add = new Linker(source.script).getCallSite("add", ADD_TYPE).dynamicInvoker();
+      int unused = (int)add.invokeExact(1, 2);
+    }
+  }
+
+  private static Object add(MethodHandle add, int a, int b) throws Throwable {
+    try {
+      return (int)add.invokeExact(a, b);
+    } catch(OptimisticError e) {
+      return e.value();
+    }
+  }
+
+  @Benchmark
+  public Object firstCall(Cold cold) throws Throwable {
+    return add(cold.linker.getCallSite("add", ADD_TYPE).dynamicInvoker(), 1, 2);
+  }
+
+  @Benchmark
+  public Object deopt(Warm warm) throws Throwable {
+    return add(warm.add, Integer.MAX_VALUE, 1);
+  }
+
+  @Benchmark
+  public Object deoptAndRecompile(Warm warm) throws Throwable {
+    add(warm.add, Integer.MAX_VALUE, 1);
+    return add(warm.add, 1, 2);
+  }
+}
@@ -0,0 +1,128 @@
+package com.github.forax.vmboiler.bench;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.forax.vmboiler.rt.OptimisticError;
+
+import test.FiboGen;
+import test.GCDGen;
+
+/**
+ * Steady state throughput of the code generated by {@link FiboGen} and {@link GCDGen}
+ * compared to the same code written in Java.
+ *
+ * The runtime of FiboGen always deoptimizes the additions, so fibo measures the deoptimization paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedCodeBenchmark {
+  private MethodHandle fibo;
+  private MethodHandle gcd;
+  private PrintStream out;
+
+  @Setup
+  public void setup() throws Throwable {
+    out = Silence.discardOut();
+    fibo = load(FiboGen::main, "Fibo", "fibo", MethodType.methodType(int.class, int.class));
+    gcd = load(GCDGen::main, "GCD", "gcd", MethodType.methodType(int.class, int.class, int.class));
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.setOut(out);
+  }
+
+  interface Generator {
+    void main(String[] args) throws IOException;
+  }
+
+  private static final class Loader extends ClassLoader {
+    Loader() {
+      super(GeneratedCodeBenchmark.class.getClassLoader());
+    }
+
+    Class<?> define(String name, byte[] bytecode) {
+      return defineClass(name, bytecode, 0, bytecode.length);
+    }
+  }
+
+  // the generators write the class in the current directory
+  private static MethodHandle load(Generator generator, String className, String name, MethodType methodType) throws Throwable {
+    generator.main(new String[0]);
+    Path path = Paths.get(className + ".class");
+    byte[] bytecode = Files.readAllBytes(path);
+    Files.delete(path);
+    Class<?> clazz = new Loader().define(className, bytecode);
+    return MethodHandles.publicLookup().findStatic(clazz, name, methodType);
+  }
+
+  @Benchmark
+  public Object fiboGenerated() throws Throwable {
+    try {
+      return (int)fibo.invokeExact(20);
+    } catch(OptimisticError e) {
+      return e.value();
+    }
+  }
+
+  @Benchmark
+  public int fiboJava() {
+    return fibo(20);
+  }
+
+  private static int fibo(int n) {
+    if (n < 2) {
+      return 1;
+    }
+    return fibo(n - 1) + fibo(n - 2);
+  }
+
+  @Benchmark
+  public Object gcdGenerated() throws Throwable {
+    try {
+      return (int)gcd.invokeExact(1_000_000, 6);
+    } catch(OptimisticError e) {
+      return e.value();
+    }
+  }
+
+  @Benchmark
+  public int gcdJava() {
+    return gcd(1_000_000, 6);
+  }
+
+  private static int gcd(int a, int b) {
+    while(a != b) {
+      if (a > b) {
+        a = a - b;
+      } else {
+        b = b - a;
+      }
+    }
+    return a;
+  }
+}
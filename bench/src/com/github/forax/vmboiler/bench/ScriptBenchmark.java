@@ -0,0 +1,140 @@
+package com.github.forax.vmboiler.bench;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.forax.vmboiler.sample.script.Generator;
+import com.github.forax.vmboiler.sample.script.Linker;
+import com.github.forax.vmboiler.sample.script.Parser;
+import com.github.forax.vmboiler.sample.script.Script;
+
+/**
+ * Steady state time of the main of the scripts, the linker is shared by all the runs of a script
+ * so the code is generated during the warmup.
+ *
+ * The paths are relative to the script directory, the system properties of the script runtime
+ * can be passed to the forked VM with -jvmArgsAppend.
+ * The setup fails if the list of files is not the list of the scripts of the directories
+ * benchmarks and samples, so a new script is not silently skipped.
+ *
+ * The scripts are run with the side exits in the generated methods and outlined into cold methods
+ * ({@code script.coldSideExits}), the property is read once by the Generator so each run needs
+ * its own forked VM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScriptBenchmark {
+  @Param({
+    "benchmarks/add1.script",
+    "benchmarks/fibo.script",
+    "benchmarks/gcd.script",
+    "benchmarks/harmonic.script",
+    "benchmarks/print_starts.script",
+    "benchmarks/sum.script",
+    "samples/bignum.script",
+    "samples/block.script",
+    "samples/fibo.script",
+    "samples/fibo_empty.script",
+    "samples/fibo_overflow.script",
+    "samples/fun.script",
+    "samples/gcd.script",
+    "samples/hello.script",
+    "samples/int_boundary.script",
+    "samples/loop_zero.script",
+    "samples/min_value.script",
+    "samples/num.script",
+    "samples/osr.script",
+    "samples/pic.script",
+    "samples/tail_call.script",
+    "samples/while.script"
+  })
+  public String file;
+
+  @Param({ "false", "true" })
+  public boolean coldSideExits;
+
+  private MethodHandle main;
+  private PrintStream out;
+
+  @Setup
+  public void setup() throws Exception {
+    checkFiles();
+    System.setProperty("script.coldSideExits", "" + coldSideExits);
+    out = Silence.discardOut();
+    Script script;
+    try(Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+      script = Parser.parse(reader);
+    }
+    main = new Linker(script).getCallSite("main", MethodType.methodType(Object.class)).dynamicInvoker();
+    checkColdSideExits();
+  }
+
+  // the Generator may have been initialized by a previous run in the same VM
+  private void checkColdSideExits() throws ReflectiveOperationException {
+    Field field = Generator.class.getDeclaredField("COLD_SIDE_EXITS");
+    field.setAccessible(true);
+    if (field.getBoolean(null) != coldSideExits) {
+      throw new IllegalStateException("script.coldSideExits was already read, the benchmark must be forked");
+    }
+  }
+
+  private static void checkFiles() throws IOException {
+    Set<String> files = new TreeSet<>();
+    for(String directory: new String[] { "benchmarks", "samples" }) {
+      try(Stream<Path> paths = Files.list(Paths.get(directory))) {
+        paths.map(path -> directory + '/' + path.getFileName())
+             .filter(name -> name.endsWith(".script"))
+             .forEach(files::add);
+      }
+    }
+    Set<String> params;
+    try {
+      params = new TreeSet<>(Arrays.asList(ScriptBenchmark.class.getField("file").getAnnotation(Param.class).value()));
+    } catch (NoSuchFieldException e) {
+      throw new AssertionError(e);
+    }
+    if (!files.equals(params)) {
+      throw new IllegalStateException("the files of the benchmark " + params + " are not the scripts " + files);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.setOut(out);
+  }
+
+  @Benchmark
+  public Object run() throws Throwable {
+    return (Object)main.invokeExact();
+  }
+}
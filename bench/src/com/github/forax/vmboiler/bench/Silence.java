@@ -0,0 +1,27 @@
+package com.github.forax.vmboiler.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+// the generators and the runtimes print their code and their deoptimizations,
+// the output is discarded during a benchmark
+final class Silence {
+  private Silence() {
+    throw new AssertionError();
+  }
+
+  static PrintStream discardOut() {
+    PrintStream out = System.out;
+    System.setOut(new PrintStream(new OutputStream() {
+      @Override
+      public void write(int b) {
+        // empty
+      }
+      @Override
+      public void write(byte[] b, int off, int len) {
+        // empty
+      }
+    }));
+    return out;
+  }
+}
@@ -99,18 +99,22 @@ public class LexerDataTable {
     initintegerMainTransitions();
     CharRegexTable integerMain = new CharRegexTable(1, integerMainTransitions, integerMainAccepts);
     RuleData integer = new RuleData(integerMain, null, 20, false);
+    initdecimalMainAccepts();
+    initdecimalMainTransitions();
+    CharRegexTable decimalMain = new CharRegexTable(2, decimalMainTransitions, decimalMainAccepts);
+    RuleData decimal = new RuleData(decimalMain, null, 21, false);
     initidMainAccepts();
     initidMainTransitions();
     CharRegexTable idMain = new CharRegexTable(1, idMainTransitions, idMainAccepts);
-    RuleData id = new RuleData(idMain, null, 21, false);
+    RuleData id = new RuleData(idMain, null, 22, false);
     initspaceMainAccepts();
     initspaceMainTransitions();
     CharRegexTable spaceMain = new CharRegexTable(1, spaceMainTransitions, spaceMainAccepts);
-    RuleData space = new RuleData(spaceMain, null, 22, false);
+    RuleData space = new RuleData(spaceMain, null, 23, false);
     initcommentMainAccepts();
     initcommentMainTransitions();
     CharRegexTable commentMain = new CharRegexTable(1, commentMainTransitions, commentMainAccepts);
-    RuleData comment = new RuleData(commentMain, null, 23, false);
+    RuleData comment = new RuleData(commentMain, null, 24, false);
 
     EnumMap<RuleEnum,RuleData> datas = new EnumMap<RuleEnum,RuleData>(RuleEnum.class);
     datas.put(RuleEnum.assign, assign);
@@ -134,6 +138,7 @@ public class LexerDataTable {
     datas.put(RuleEnum.while_, while_);
     datas.put(RuleEnum.text, text);
     datas.put(RuleEnum.integer, integer);
+    datas.put(RuleEnum.decimal, decimal);
     datas.put(RuleEnum.id, id);
     datas.put(RuleEnum.space, space);
     datas.put(RuleEnum.comment, comment);
@@ -351,6 +356,16 @@ public class LexerDataTable {
     integerMainTransitions = new int[][] {{0,-1,48,0,58,-1},{0,-1,48,0,58,-1}};
   }
   
+  private boolean[] decimalMainAccepts;
+  private void initdecimalMainAccepts() {
+    decimalMainAccepts = new boolean[] {true,false,false,false};
+  }
+    
+  private int[][] decimalMainTransitions;
+  private void initdecimalMainTransitions() {
+    decimalMainTransitions = new int[][] {{0,-1,48,0,58,-1},{0,-1,48,0,58,-1},{0,-1,48,3,58,-1},{0,-1,46,1,47,-1,48,3,58,-1}};
+  }
+  
   private boolean[] idMainAccepts;
   private void initidMainAccepts() {
     idMainAccepts = new boolean[] {true,false};
@@ -21,128 +21,132 @@ public class ParserDataTable {
   private ParserDataTable() {
    accept = AcceptAction.<TerminalEnum,ProductionEnum,VersionEnum>getInstance();
    exit = ExitAction.<TerminalEnum,ProductionEnum,VersionEnum>getInstance();
-    initscriptGotoes();
-    initexpr_star_3Gotoes();
-    initfun_star_0Gotoes();
     initexprGotoes();
-    initexpr_star_2Gotoes();
+    initfun_star_0Gotoes();
     initexpr_star_5Gotoes();
-    initid_star_1Gotoes();
-    initfunGotoes();
+    initexpr_star_2Gotoes();
     initexpr_star_4Gotoes();
-    reduceexpr_while = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_while,5,exprGotoes);
-    reducefun = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.fun,7,funGotoes);
+    initexpr_star_3Gotoes();
+    initscriptGotoes();
+    initfunGotoes();
+    initid_star_1Gotoes();
+    reduceexpr_var_access = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_var_access,1,exprGotoes);
+    reduceexpr_text = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_text,1,exprGotoes);
     reduceexpr_var_assignment = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_var_assignment,3,exprGotoes);
     reducescript = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.script,1,scriptGotoes);
-    reduceexpr_integer = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_integer,1,exprGotoes);
+    reduceexpr_star_4_rec = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_4_rec,2,expr_star_4Gotoes);
+    reduceexpr_eq = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_eq,3,exprGotoes);
+    reduceexpr_ne = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_ne,3,exprGotoes);
     reduceexpr_gt = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_gt,3,exprGotoes);
-    reduceexpr_sub = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_sub,3,exprGotoes);
     reduceid_star_1_rec = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.id_star_1_rec,2,id_star_1Gotoes);
-    reduceexpr_star_3_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_3_empty,0,expr_star_3Gotoes);
-    reduceexpr_star_5_rec = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_5_rec,2,expr_star_5Gotoes);
-    reduceexpr_ne = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_ne,3,exprGotoes);
-    reduceexpr_if = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_if,6,exprGotoes);
+    reduceexpr_add = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_add,3,exprGotoes);
+    reduceexpr_block = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_block,3,exprGotoes);
     reduceexpr_star_2_rec = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_2_rec,2,expr_star_2Gotoes);
     reducefun_star_0_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.fun_star_0_empty,0,fun_star_0Gotoes);
-    reduceexpr_add = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_add,3,exprGotoes);
+    reduceexpr_star_3_rec = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_3_rec,2,expr_star_3Gotoes);
+    reduceexpr_star_4_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_4_empty,0,expr_star_4Gotoes);
+    reduceexpr_call = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_call,4,exprGotoes);
+    reduceid_star_1_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.id_star_1_empty,0,id_star_1Gotoes);
+    reduceexpr_star_5_rec = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_5_rec,2,expr_star_5Gotoes);
+    reduceexpr_if = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_if,6,exprGotoes);
+    reduceexpr_lt = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_lt,3,exprGotoes);
+    reduceexpr_decimal = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_decimal,1,exprGotoes);
+    reduceexpr_star_5_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_5_empty,0,expr_star_5Gotoes);
     reduceexpr_ge = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_ge,3,exprGotoes);
-    reduceexpr_star_2_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_2_empty,0,expr_star_2Gotoes);
-    reducefun_star_0_rec = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.fun_star_0_rec,2,fun_star_0Gotoes);
     reduceexpr_rem = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_rem,3,exprGotoes);
-    reduceid_star_1_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.id_star_1_empty,0,id_star_1Gotoes);
-    reduceexpr_le = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_le,3,exprGotoes);
+    reduceexpr_star_3_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_3_empty,0,expr_star_3Gotoes);
     reduceexpr_div = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_div,3,exprGotoes);
-    reduceexpr_var_access = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_var_access,1,exprGotoes);
-    reduceexpr_block = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_block,3,exprGotoes);
-    reduceexpr_star_3_rec = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_3_rec,2,expr_star_3Gotoes);
-    reduceexpr_lt = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_lt,3,exprGotoes);
-    reduceexpr_star_4_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_4_empty,0,expr_star_4Gotoes);
+    reduceexpr_sub = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_sub,3,exprGotoes);
     reduceexpr_mul = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_mul,3,exprGotoes);
-    reduceexpr_text = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_text,1,exprGotoes);
-    reduceexpr_star_5_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_5_empty,0,expr_star_5Gotoes);
-    reduceexpr_star_4_rec = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_4_rec,2,expr_star_4Gotoes);
-    reduceexpr_eq = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_eq,3,exprGotoes);
-    reduceexpr_call = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_call,4,exprGotoes);
-    shift56 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(56);
-    shift48 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(48);
-    shift4 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(4);
-    shift5 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(5);
-    shift25 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(25);
-    shift9 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(9);
-    shift18 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(18);
-    shift29 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(29);
-    shift8 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(8);
+    reduceexpr_integer = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_integer,1,exprGotoes);
+    reducefun_star_0_rec = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.fun_star_0_rec,2,fun_star_0Gotoes);
+    reduceexpr_le = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_le,3,exprGotoes);
+    reduceexpr_star_2_empty = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_star_2_empty,0,expr_star_2Gotoes);
+    reduceexpr_while = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.expr_while,5,exprGotoes);
+    reducefun = new ReduceAction<TerminalEnum,ProductionEnum,VersionEnum>(ProductionEnum.fun,7,funGotoes);
+    shift10 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(10);
+    shift40 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(40);
+    shift16 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(16);
     shift14 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(14);
-    shift43 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(43);
-    shift11 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(11);
-    shift35 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(35);
-    shift6 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(6);
-    shift33 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(33);
-    shift27 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(27);
-    shift41 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(41);
-    shift21 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(21);
-    shift31 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(31);
     shift46 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(46);
+    shift55 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(55);
+    shift26 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(26);
+    shift4 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(4);
     shift53 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(53);
-    shift17 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(17);
-    shift58 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(58);
-    shift12 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(12);
+    shift11 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(11);
     shift15 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(15);
-    shift16 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(16);
+    shift42 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(42);
+    shift20 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(20);
+    shift12 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(12);
+    shift6 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(6);
+    shift3 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(3);
+    shift30 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(30);
+    shift51 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(51);
+    shift22 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(22);
+    shift9 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(9);
     shift13 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(13);
-    shift23 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(23);
-    shift39 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(39);
-    shift19 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(19);
-    shift37 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(37);
+    shift18 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(18);
+    shift17 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(17);
+    shift28 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(28);
+    shift2 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(2);
+    shift32 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(32);
+    shift57 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(57);
+    shift24 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(24);
+    shift38 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(38);
+    shift7 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(7);
+    shift36 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(36);
+    shift34 = new ShiftAction<TerminalEnum,ProductionEnum,VersionEnum>(34);
     error0 = new ErrorAction<TerminalEnum,ProductionEnum,VersionEnum>("parse error");
     branch0 = new BranchAction<TerminalEnum,ProductionEnum,VersionEnum>("parse error");
-    initwhile_Array();
-    initif_Array();
-    initgtArray();
-    initidArray();
-    initfnArray();
-    initsubArray();
-    initlparArray();
-    initleArray();
+    initremArray();
+    initmulArray();
     initdivArray();
+    initgtArray();
+    initeqArray();
     init__eof__Array();
-    initmulArray();
-    initaddArray();
-    inittextArray();
+    initsubArray();
     initgeArray();
-    initeqArray();
-    initcolonArray();
+    inittextArray();
     initrparArray();
-    initintegerArray();
-    initremArray();
-    initassignArray();
+    initidArray();
     initltArray();
+    initassignArray();
+    initdecimalArray();
+    initleArray();
+    initif_Array();
+    initaddArray();
+    initintegerArray();
+    initwhile_Array();
+    initcolonArray();
+    initlparArray();
     initneArray();
+    initfnArray();
     EnumMap<TerminalEnum,Action<TerminalEnum,ProductionEnum,VersionEnum>[]> tableMap =
       new EnumMap<TerminalEnum,Action<TerminalEnum,ProductionEnum,VersionEnum>[]>(TerminalEnum.class);
       
-    tableMap.put(TerminalEnum.while_,while_Array);
-    tableMap.put(TerminalEnum.if_,if_Array);
-    tableMap.put(TerminalEnum.gt,gtArray);
-    tableMap.put(TerminalEnum.id,idArray);
-    tableMap.put(TerminalEnum.fn,fnArray);
-    tableMap.put(TerminalEnum.sub,subArray);
-    tableMap.put(TerminalEnum.lpar,lparArray);
-    tableMap.put(TerminalEnum.le,leArray);
+    tableMap.put(TerminalEnum.rem,remArray);
+    tableMap.put(TerminalEnum.mul,mulArray);
     tableMap.put(TerminalEnum.div,divArray);
+    tableMap.put(TerminalEnum.gt,gtArray);
+    tableMap.put(TerminalEnum.eq,eqArray);
     tableMap.put(TerminalEnum.__eof__,__eof__Array);
-    tableMap.put(TerminalEnum.mul,mulArray);
-    tableMap.put(TerminalEnum.add,addArray);
-    tableMap.put(TerminalEnum.text,textArray);
+    tableMap.put(TerminalEnum.sub,subArray);
     tableMap.put(TerminalEnum.ge,geArray);
-    tableMap.put(TerminalEnum.eq,eqArray);
-    tableMap.put(TerminalEnum.colon,colonArray);
+    tableMap.put(TerminalEnum.text,textArray);
     tableMap.put(TerminalEnum.rpar,rparArray);
-    tableMap.put(TerminalEnum.integer,integerArray);
-    tableMap.put(TerminalEnum.rem,remArray);
-    tableMap.put(TerminalEnum.assign,assignArray);
+    tableMap.put(TerminalEnum.id,idArray);
     tableMap.put(TerminalEnum.lt,ltArray);
+    tableMap.put(TerminalEnum.assign,assignArray);
+    tableMap.put(TerminalEnum.decimal,decimalArray);
+    tableMap.put(TerminalEnum.le,leArray);
+    tableMap.put(TerminalEnum.if_,if_Array);
+    tableMap.put(TerminalEnum.add,addArray);
+    tableMap.put(TerminalEnum.integer,integerArray);
+    tableMap.put(TerminalEnum.while_,while_Array);
+    tableMap.put(TerminalEnum.colon,colonArray);
+    tableMap.put(TerminalEnum.lpar,lparArray);
     tableMap.put(TerminalEnum.ne,neArray);
+    tableMap.put(TerminalEnum.fn,fnArray);
     initBranchArrayTable();
     
     StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>[] tableMetadata = createStateMetadataTable();
@@ -150,238 +154,244 @@ public class ParserDataTable {
     EnumMap<NonTerminalEnum,Integer> tableStarts =
       new EnumMap<NonTerminalEnum,Integer>(NonTerminalEnum.class);
     tableStarts.put(NonTerminalEnum.script,0);
-    table = new ParserTable<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>(tableMap,branchArrayTable,tableMetadata,tableStarts,VersionEnum.values(),61,TerminalEnum.__eof__,null);
+    table = new ParserTable<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>(tableMap,branchArrayTable,tableMetadata,tableStarts,VersionEnum.values(),62,TerminalEnum.__eof__,null);
   } 
 
   // metadata aren't stored in local vars because it freak-out the register allocator of android
   @SuppressWarnings("unchecked")
   private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>[] createStateMetadataTable() {
-        metadata0id_star_1_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.id_star_1,null);
-    metadata0while__metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.while_,null);
-    metadata0sub_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.sub,null);
-    metadata0expr_star_5_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr_star_5,null);
-    metadata0mul_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.mul,null);
-    metadata0id_metadata0reduceid_star_1_rec = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.id,reduceid_star_1_rec);
-    metadata0assign_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.assign,null);
-    metadata0integer_metadata0reduceexpr_integer = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.integer,reduceexpr_integer);
+        metadata0expr_star_2_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr_star_2,null);
     metadata0expr_metadata0reduceexpr_div = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr,reduceexpr_div);
-    metadata0rpar_metadata0reduceexpr_block = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.rpar,reduceexpr_block);
-    metadata0lpar_metadata0reduceexpr_star_3_empty = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.lpar,reduceexpr_star_3_empty);
-    metadata0expr_star_4_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr_star_4,null);
-    metadata0rem_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.rem,null);
-    metadata0expr_metadata0reduceexpr_rem = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr,reduceexpr_rem);
-    metadata0__eof___metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.__eof__,null);
-    metadata0gt_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.gt,null);
     metadata0fun_metadata0reducefun_star_0_rec = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.fun,reducefun_star_0_rec);
-    metadata0ge_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.ge,null);
-    metadata0script_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.script,null);
-    metadata0null_metadata0reducefun_star_0_empty = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(null,reducefun_star_0_empty);
-    metadata0expr_star_3_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr_star_3,null);
-    metadata0lt_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.lt,null);
+    metadata0ne_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.ne,null);
+    metadata0rpar_metadata0reducefun = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.rpar,reducefun);
+    metadata0id_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.id,null);
+    metadata0lpar_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.lpar,null);
     metadata0if__metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.if_,null);
-    metadata0fun_star_0_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.fun_star_0,null);
+    metadata0ge_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.ge,null);
+    metadata0integer_metadata0reduceexpr_integer = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.integer,reduceexpr_integer);
     metadata0eq_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.eq,null);
-    metadata0div_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.div,null);
-    metadata0expr_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr,null);
-    metadata0rpar_metadata0reduceexpr_while = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.rpar,reduceexpr_while);
     metadata0lpar_metadata0reduceexpr_star_4_empty = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.lpar,reduceexpr_star_4_empty);
-    metadata0expr_star_2_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr_star_2,null);
-    metadata0colon_metadata0reduceexpr_star_2_empty = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.colon,reduceexpr_star_2_empty);
+    metadata0decimal_metadata0reduceexpr_decimal = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.decimal,reduceexpr_decimal);
+    metadata0mul_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.mul,null);
+    metadata0null_metadata0reducefun_star_0_empty = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(null,reducefun_star_0_empty);
+    metadata0rem_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.rem,null);
     metadata0expr_metadata0reduceexpr_mul = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr,reduceexpr_mul);
-    metadata0lpar_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.lpar,null);
-    metadata0text_metadata0reduceexpr_text = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.text,reduceexpr_text);
-    metadata0id_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.id,null);
-    metadata0rpar_metadata0reducefun = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.rpar,reducefun);
-    metadata0add_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.add,null);
-    metadata0fn_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.fn,null);
+    metadata0sub_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.sub,null);
+    metadata0fun_star_0_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.fun_star_0,null);
     metadata0le_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.le,null);
-    metadata0id_metadata0reduceid_star_1_empty = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.id,reduceid_star_1_empty);
-    metadata0ne_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.ne,null);
+    metadata0lpar_metadata0reduceexpr_star_3_empty = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.lpar,reduceexpr_star_3_empty);
+    metadata0expr_star_4_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr_star_4,null);
+    metadata0add_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.add,null);
+    metadata0id_star_1_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.id_star_1,null);
+    metadata0while__metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.while_,null);
+    metadata0assign_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.assign,null);
+    metadata0id_metadata0reduceid_star_1_rec = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.id,reduceid_star_1_rec);
+    metadata0colon_metadata0reduceexpr_star_2_empty = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.colon,reduceexpr_star_2_empty);
+    metadata0lt_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.lt,null);
+    metadata0rpar_metadata0reduceexpr_block = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.rpar,reduceexpr_block);
+    metadata0expr_star_3_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr_star_3,null);
+    metadata0expr_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr,null);
     metadata0rpar_metadata0reduceexpr_call = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.rpar,reduceexpr_call);
+    metadata0id_metadata0reduceid_star_1_empty = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.id,reduceid_star_1_empty);
+    metadata0fn_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.fn,null);
+    metadata0rpar_metadata0reduceexpr_while = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.rpar,reduceexpr_while);
+    metadata0expr_metadata0reduceexpr_rem = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr,reduceexpr_rem);
+    metadata0__eof___metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.__eof__,null);
+    metadata0gt_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.gt,null);
+    metadata0expr_star_5_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.expr_star_5,null);
+    metadata0text_metadata0reduceexpr_text = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.text,reduceexpr_text);
+    metadata0div_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.div,null);
+    metadata0script_metadata0null = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithNonTerminal(NonTerminalEnum.script,null);
     metadata0rpar_metadata0reduceexpr_if = StateMetadata.<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>createAllVersionWithTerminal(TerminalEnum.rpar,reduceexpr_if);
 
-    return (StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>[])new StateMetadata<?,?,?,?>[]{metadata0null_metadata0reducefun_star_0_empty,metadata0script_metadata0null,metadata0__eof___metadata0null,metadata0fun_star_0_metadata0null,metadata0fn_metadata0null,metadata0lpar_metadata0null,metadata0id_metadata0reduceid_star_1_empty,metadata0id_star_1_metadata0null,metadata0id_metadata0reduceid_star_1_rec,metadata0colon_metadata0reduceexpr_star_2_empty,metadata0expr_star_2_metadata0null,metadata0while__metadata0null,metadata0lpar_metadata0null,metadata0text_metadata0reduceexpr_text,metadata0if__metadata0null,metadata0lpar_metadata0null,metadata0id_metadata0null,metadata0assign_metadata0null,metadata0integer_metadata0reduceexpr_integer,metadata0lpar_metadata0reduceexpr_star_3_empty,metadata0expr_star_3_metadata0null,metadata0rpar_metadata0reduceexpr_block,metadata0expr_metadata0null,metadata0add_metadata0null,metadata0expr_metadata0null,metadata0gt_metadata0null,metadata0expr_metadata0null,metadata0ge_metadata0null,metadata0expr_metadata0null,metadata0eq_metadata0null,metadata0expr_metadata0null,metadata0sub_metadata0null,metadata0expr_metadata0null,metadata0rem_metadata0null,metadata0expr_metadata0reduceexpr_rem,metadata0lt_metadata0null,metadata0expr_metadata0null,metadata0le_metadata0null,metadata0expr_metadata0null,metadata0div_metadata0null,metadata0expr_metadata0reduceexpr_div,metadata0ne_metadata0null,metadata0expr_metadata0null,metadata0mul_metadata0null,metadata0expr_metadata0reduceexpr_mul,metadata0expr_metadata0null,metadata0lpar_metadata0reduceexpr_star_4_empty,metadata0expr_star_4_metadata0null,metadata0rpar_metadata0reduceexpr_call,metadata0expr_metadata0null,metadata0expr_metadata0null,metadata0expr_metadata0null,metadata0expr_metadata0null,metadata0rpar_metadata0reduceexpr_if,metadata0expr_metadata0null,metadata0expr_star_5_metadata0null,metadata0rpar_metadata0reduceexpr_while,metadata0expr_metadata0null,metadata0rpar_metadata0reducefun,metadata0expr_metadata0null,metadata0fun_metadata0reducefun_star_0_rec};
+    return (StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum>[])new StateMetadata<?,?,?,?>[]{metadata0null_metadata0reducefun_star_0_empty,metadata0fun_star_0_metadata0null,metadata0fn_metadata0null,metadata0lpar_metadata0null,metadata0id_metadata0reduceid_star_1_empty,metadata0id_star_1_metadata0null,metadata0id_metadata0reduceid_star_1_rec,metadata0colon_metadata0reduceexpr_star_2_empty,metadata0expr_star_2_metadata0null,metadata0id_metadata0null,metadata0assign_metadata0null,metadata0decimal_metadata0reduceexpr_decimal,metadata0if__metadata0null,metadata0lpar_metadata0null,metadata0integer_metadata0reduceexpr_integer,metadata0while__metadata0null,metadata0lpar_metadata0null,metadata0text_metadata0reduceexpr_text,metadata0lpar_metadata0reduceexpr_star_3_empty,metadata0expr_star_3_metadata0null,metadata0rpar_metadata0reduceexpr_block,metadata0expr_metadata0null,metadata0rem_metadata0null,metadata0expr_metadata0reduceexpr_rem,metadata0lt_metadata0null,metadata0expr_metadata0null,metadata0mul_metadata0null,metadata0expr_metadata0reduceexpr_mul,metadata0le_metadata0null,metadata0expr_metadata0null,metadata0add_metadata0null,metadata0expr_metadata0null,metadata0div_metadata0null,metadata0expr_metadata0reduceexpr_div,metadata0gt_metadata0null,metadata0expr_metadata0null,metadata0eq_metadata0null,metadata0expr_metadata0null,metadata0sub_metadata0null,metadata0expr_metadata0null,metadata0ge_metadata0null,metadata0expr_metadata0null,metadata0ne_metadata0null,metadata0expr_metadata0null,metadata0expr_metadata0null,metadata0expr_star_5_metadata0null,metadata0rpar_metadata0reduceexpr_while,metadata0expr_metadata0null,metadata0expr_metadata0null,metadata0expr_metadata0null,metadata0expr_metadata0null,metadata0rpar_metadata0reduceexpr_if,metadata0expr_metadata0null,metadata0lpar_metadata0reduceexpr_star_4_empty,metadata0expr_star_4_metadata0null,metadata0rpar_metadata0reduceexpr_call,metadata0expr_metadata0null,metadata0rpar_metadata0reducefun,metadata0expr_metadata0null,metadata0fun_metadata0reducefun_star_0_rec,metadata0script_metadata0null,metadata0__eof___metadata0null};
   }
 
   
-  private int[] scriptGotoes;
-
-  private void initscriptGotoes() {
-    scriptGotoes = 
-      new int[]{1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
-  }
-  
-  private int[] expr_star_3Gotoes;
+  private int[] exprGotoes;
 
-  private void initexpr_star_3Gotoes() {
-    expr_star_3Gotoes = 
-      new int[]{-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,20,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
+  private void initexprGotoes() {
+    exprGotoes = 
+      new int[]{-1,-1,-1,-1,-1,-1,-1,-1,58,-1,52,-1,-1,48,-1,-1,44,-1,-1,21,-1,-1,23,-1,25,-1,27,-1,29,-1,31,-1,33,-1,35,-1,37,-1,39,-1,41,-1,43,-1,-1,47,-1,-1,49,50,-1,-1,-1,-1,56,-1,-1,-1,-1,-1,-1,-1};
   }
   
   private int[] fun_star_0Gotoes;
 
   private void initfun_star_0Gotoes() {
     fun_star_0Gotoes = 
-      new int[]{3,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
+      new int[]{1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
   }
   
-  private int[] exprGotoes;
+  private int[] expr_star_5Gotoes;
 
-  private void initexprGotoes() {
-    exprGotoes = 
-      new int[]{-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,59,-1,54,-1,-1,50,-1,45,-1,-1,22,-1,-1,24,-1,26,-1,28,-1,30,-1,32,-1,34,-1,36,-1,38,-1,40,-1,42,-1,44,-1,-1,-1,49,-1,-1,51,52,-1,-1,-1,57,-1,-1,-1,-1,-1};
+  private void initexpr_star_5Gotoes() {
+    expr_star_5Gotoes = 
+      new int[]{-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,45,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
   }
   
   private int[] expr_star_2Gotoes;
 
   private void initexpr_star_2Gotoes() {
     expr_star_2Gotoes = 
-      new int[]{-1,-1,-1,-1,-1,-1,-1,-1,-1,10,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
+      new int[]{-1,-1,-1,-1,-1,-1,-1,8,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
   }
   
-  private int[] expr_star_5Gotoes;
+  private int[] expr_star_4Gotoes;
 
-  private void initexpr_star_5Gotoes() {
-    expr_star_5Gotoes = 
-      new int[]{-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,55,-1,-1,-1,-1,-1,-1};
+  private void initexpr_star_4Gotoes() {
+    expr_star_4Gotoes = 
+      new int[]{-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,54,-1,-1,-1,-1,-1,-1,-1,-1};
   }
   
-  private int[] id_star_1Gotoes;
+  private int[] expr_star_3Gotoes;
 
-  private void initid_star_1Gotoes() {
-    id_star_1Gotoes = 
-      new int[]{-1,-1,-1,-1,-1,-1,7,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
+  private void initexpr_star_3Gotoes() {
+    expr_star_3Gotoes = 
+      new int[]{-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,19,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
+  }
+  
+  private int[] scriptGotoes;
+
+  private void initscriptGotoes() {
+    scriptGotoes = 
+      new int[]{60,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
   }
   
   private int[] funGotoes;
 
   private void initfunGotoes() {
     funGotoes = 
-      new int[]{-1,-1,-1,60,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
+      new int[]{-1,59,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
   }
   
-  private int[] expr_star_4Gotoes;
+  private int[] id_star_1Gotoes;
 
-  private void initexpr_star_4Gotoes() {
-    expr_star_4Gotoes = 
-      new int[]{-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,47,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
+  private void initid_star_1Gotoes() {
+    id_star_1Gotoes = 
+      new int[]{-1,-1,-1,-1,5,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1,-1};
   }
 
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] while_Array;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] remArray;
   @SuppressWarnings("unchecked")
-  private void initwhile_Array() {
-    while_Array=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift11,branch0,shift11,reduceexpr_text,branch0,shift11,reduceexpr_var_access,shift11,reduceexpr_integer,reduceexpr_star_3_empty,shift11,reduceexpr_block,reduceexpr_star_3_rec,shift11,reduceexpr_add,shift11,reduceexpr_gt,shift11,reduceexpr_ge,shift11,reduceexpr_eq,shift11,reduceexpr_sub,shift11,reduceexpr_rem,shift11,reduceexpr_lt,shift11,reduceexpr_le,shift11,reduceexpr_div,shift11,reduceexpr_ne,shift11,reduceexpr_mul,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift11,reduceexpr_call,reduceexpr_star_4_rec,shift11,shift11,branch0,reduceexpr_if,reduceexpr_star_5_empty,shift11,reduceexpr_while,reduceexpr_star_5_rec,branch0,reduceexpr_star_2_rec,branch0};
+  private void initremArray() {
+    remArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift22,branch0,reduceexpr_rem,branch0,shift22,branch0,reduceexpr_mul,branch0,shift22,branch0,shift22,branch0,reduceexpr_div,branch0,shift22,branch0,shift22,branch0,shift22,branch0,shift22,branch0,shift22,shift22,branch0,reduceexpr_while,shift22,shift22,shift22,shift22,reduceexpr_if,shift22,branch0,branch0,reduceexpr_call,shift22,branch0,shift22,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] if_Array;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] mulArray;
   @SuppressWarnings("unchecked")
-  private void initif_Array() {
-    if_Array=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift14,branch0,shift14,reduceexpr_text,branch0,shift14,reduceexpr_var_access,shift14,reduceexpr_integer,reduceexpr_star_3_empty,shift14,reduceexpr_block,reduceexpr_star_3_rec,shift14,reduceexpr_add,shift14,reduceexpr_gt,shift14,reduceexpr_ge,shift14,reduceexpr_eq,shift14,reduceexpr_sub,shift14,reduceexpr_rem,shift14,reduceexpr_lt,shift14,reduceexpr_le,shift14,reduceexpr_div,shift14,reduceexpr_ne,shift14,reduceexpr_mul,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift14,reduceexpr_call,reduceexpr_star_4_rec,shift14,shift14,branch0,reduceexpr_if,reduceexpr_star_5_empty,shift14,reduceexpr_while,reduceexpr_star_5_rec,branch0,reduceexpr_star_2_rec,branch0};
+  private void initmulArray() {
+    mulArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift26,branch0,reduceexpr_rem,branch0,shift26,branch0,reduceexpr_mul,branch0,shift26,branch0,shift26,branch0,reduceexpr_div,branch0,shift26,branch0,shift26,branch0,shift26,branch0,shift26,branch0,shift26,shift26,branch0,reduceexpr_while,shift26,shift26,shift26,shift26,reduceexpr_if,shift26,branch0,branch0,reduceexpr_call,shift26,branch0,shift26,branch0,branch0,branch0};
+  }
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] divArray;
+  @SuppressWarnings("unchecked")
+  private void initdivArray() {
+    divArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift32,branch0,reduceexpr_rem,branch0,shift32,branch0,reduceexpr_mul,branch0,shift32,branch0,shift32,branch0,reduceexpr_div,branch0,shift32,branch0,shift32,branch0,shift32,branch0,shift32,branch0,shift32,shift32,branch0,reduceexpr_while,shift32,shift32,shift32,shift32,reduceexpr_if,shift32,branch0,branch0,reduceexpr_call,shift32,branch0,shift32,branch0,branch0,branch0};
   }
   private Action<TerminalEnum,ProductionEnum,VersionEnum>[] gtArray;
   @SuppressWarnings("unchecked")
   private void initgtArray() {
-    gtArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift25,branch0,reduceexpr_add,branch0,reduceexpr_gt,branch0,reduceexpr_ge,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_le,branch0,reduceexpr_div,branch0,reduceexpr_ne,branch0,reduceexpr_mul,shift25,branch0,branch0,reduceexpr_call,shift25,shift25,shift25,shift25,reduceexpr_if,shift25,branch0,reduceexpr_while,shift25,branch0,shift25,branch0};
+    gtArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift34,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_mul,branch0,reduceexpr_le,branch0,reduceexpr_add,branch0,reduceexpr_div,branch0,reduceexpr_gt,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_ge,branch0,reduceexpr_ne,shift34,branch0,reduceexpr_while,shift34,shift34,shift34,shift34,reduceexpr_if,shift34,branch0,branch0,reduceexpr_call,shift34,branch0,shift34,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] idArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] eqArray;
   @SuppressWarnings("unchecked")
-  private void initidArray() {
-    idArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,shift6,reduceid_star_1_empty,shift8,reduceid_star_1_rec,reduceexpr_star_2_empty,shift16,branch0,shift16,reduceexpr_text,branch0,shift16,reduceexpr_var_access,shift16,reduceexpr_integer,reduceexpr_star_3_empty,shift16,reduceexpr_block,reduceexpr_star_3_rec,shift16,reduceexpr_add,shift16,reduceexpr_gt,shift16,reduceexpr_ge,shift16,reduceexpr_eq,shift16,reduceexpr_sub,shift16,reduceexpr_rem,shift16,reduceexpr_lt,shift16,reduceexpr_le,shift16,reduceexpr_div,shift16,reduceexpr_ne,shift16,reduceexpr_mul,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift16,reduceexpr_call,reduceexpr_star_4_rec,shift16,shift16,branch0,reduceexpr_if,reduceexpr_star_5_empty,shift16,reduceexpr_while,reduceexpr_star_5_rec,branch0,reduceexpr_star_2_rec,branch0};
+  private void initeqArray() {
+    eqArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift36,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_mul,branch0,reduceexpr_le,branch0,reduceexpr_add,branch0,reduceexpr_div,branch0,reduceexpr_gt,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_ge,branch0,reduceexpr_ne,shift36,branch0,reduceexpr_while,shift36,shift36,shift36,shift36,reduceexpr_if,shift36,branch0,branch0,reduceexpr_call,shift36,branch0,shift36,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] fnArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] __eof__Array;
   @SuppressWarnings("unchecked")
-  private void initfnArray() {
-    fnArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{reducefun_star_0_empty,branch0,branch0,shift4,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reducefun,branch0,reducefun_star_0_rec};
+  private void init__eof__Array() {
+    __eof__Array=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{reducefun_star_0_empty,reducescript,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reducefun,branch0,reducefun_star_0_rec,accept,accept};
   }
   private Action<TerminalEnum,ProductionEnum,VersionEnum>[] subArray;
   @SuppressWarnings("unchecked")
   private void initsubArray() {
-    subArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift31,branch0,reduceexpr_add,branch0,shift31,branch0,shift31,branch0,shift31,branch0,reduceexpr_sub,branch0,reduceexpr_rem,branch0,shift31,branch0,shift31,branch0,reduceexpr_div,branch0,shift31,branch0,reduceexpr_mul,shift31,branch0,branch0,reduceexpr_call,shift31,shift31,shift31,shift31,reduceexpr_if,shift31,branch0,reduceexpr_while,shift31,branch0,shift31,branch0};
+    subArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift38,branch0,reduceexpr_rem,branch0,shift38,branch0,reduceexpr_mul,branch0,shift38,branch0,reduceexpr_add,branch0,reduceexpr_div,branch0,shift38,branch0,shift38,branch0,reduceexpr_sub,branch0,shift38,branch0,shift38,shift38,branch0,reduceexpr_while,shift38,shift38,shift38,shift38,reduceexpr_if,shift38,branch0,branch0,reduceexpr_call,shift38,branch0,shift38,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] lparArray;
-  @SuppressWarnings("unchecked")
-  private void initlparArray() {
-    lparArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,shift5,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift19,shift12,shift19,reduceexpr_text,shift15,shift19,shift46,shift19,reduceexpr_integer,reduceexpr_star_3_empty,shift19,reduceexpr_block,reduceexpr_star_3_rec,shift19,reduceexpr_add,shift19,reduceexpr_gt,shift19,reduceexpr_ge,shift19,reduceexpr_eq,shift19,reduceexpr_sub,shift19,reduceexpr_rem,shift19,reduceexpr_lt,shift19,reduceexpr_le,shift19,reduceexpr_div,shift19,reduceexpr_ne,shift19,reduceexpr_mul,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift19,reduceexpr_call,reduceexpr_star_4_rec,shift19,shift19,branch0,reduceexpr_if,reduceexpr_star_5_empty,shift19,reduceexpr_while,reduceexpr_star_5_rec,branch0,reduceexpr_star_2_rec,branch0};
-  }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] leArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] geArray;
   @SuppressWarnings("unchecked")
-  private void initleArray() {
-    leArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift37,branch0,reduceexpr_add,branch0,reduceexpr_gt,branch0,reduceexpr_ge,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_le,branch0,reduceexpr_div,branch0,reduceexpr_ne,branch0,reduceexpr_mul,shift37,branch0,branch0,reduceexpr_call,shift37,shift37,shift37,shift37,reduceexpr_if,shift37,branch0,reduceexpr_while,shift37,branch0,shift37,branch0};
+  private void initgeArray() {
+    geArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift40,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_mul,branch0,reduceexpr_le,branch0,reduceexpr_add,branch0,reduceexpr_div,branch0,reduceexpr_gt,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_ge,branch0,reduceexpr_ne,shift40,branch0,reduceexpr_while,shift40,shift40,shift40,shift40,reduceexpr_if,shift40,branch0,branch0,reduceexpr_call,shift40,branch0,shift40,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] divArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] textArray;
   @SuppressWarnings("unchecked")
-  private void initdivArray() {
-    divArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift39,branch0,shift39,branch0,shift39,branch0,shift39,branch0,shift39,branch0,shift39,branch0,reduceexpr_rem,branch0,shift39,branch0,shift39,branch0,reduceexpr_div,branch0,shift39,branch0,reduceexpr_mul,shift39,branch0,branch0,reduceexpr_call,shift39,shift39,shift39,shift39,reduceexpr_if,shift39,branch0,reduceexpr_while,shift39,branch0,shift39,branch0};
+  private void inittextArray() {
+    textArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift17,reduceexpr_var_access,shift17,reduceexpr_decimal,branch0,shift17,reduceexpr_integer,branch0,shift17,reduceexpr_text,reduceexpr_star_3_empty,shift17,reduceexpr_block,reduceexpr_star_3_rec,shift17,reduceexpr_rem,shift17,reduceexpr_lt,shift17,reduceexpr_mul,shift17,reduceexpr_le,shift17,reduceexpr_add,shift17,reduceexpr_div,shift17,reduceexpr_gt,shift17,reduceexpr_eq,shift17,reduceexpr_sub,shift17,reduceexpr_ge,shift17,reduceexpr_ne,reduceexpr_star_5_empty,shift17,reduceexpr_while,reduceexpr_star_5_rec,shift17,shift17,branch0,reduceexpr_if,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift17,reduceexpr_call,reduceexpr_star_4_rec,branch0,reduceexpr_star_2_rec,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] __eof__Array;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] rparArray;
   @SuppressWarnings("unchecked")
-  private void init__eof__Array() {
-    __eof__Array=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{reducefun_star_0_empty,accept,accept,reducescript,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reducefun,branch0,reducefun_star_0_rec};
+  private void initrparArray() {
+    rparArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift57,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,reduceexpr_star_3_empty,shift20,reduceexpr_block,reduceexpr_star_3_rec,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_mul,branch0,reduceexpr_le,branch0,reduceexpr_add,branch0,reduceexpr_div,branch0,reduceexpr_gt,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_ge,branch0,reduceexpr_ne,reduceexpr_star_5_empty,shift46,reduceexpr_while,reduceexpr_star_5_rec,branch0,branch0,shift51,reduceexpr_if,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift55,reduceexpr_call,reduceexpr_star_4_rec,branch0,reduceexpr_star_2_rec,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] mulArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] idArray;
   @SuppressWarnings("unchecked")
-  private void initmulArray() {
-    mulArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift43,branch0,shift43,branch0,shift43,branch0,shift43,branch0,shift43,branch0,shift43,branch0,reduceexpr_rem,branch0,shift43,branch0,shift43,branch0,reduceexpr_div,branch0,shift43,branch0,reduceexpr_mul,shift43,branch0,branch0,reduceexpr_call,shift43,shift43,shift43,shift43,reduceexpr_if,shift43,branch0,reduceexpr_while,shift43,branch0,shift43,branch0};
+  private void initidArray() {
+    idArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,shift4,reduceid_star_1_empty,shift6,reduceid_star_1_rec,reduceexpr_star_2_empty,shift9,reduceexpr_var_access,shift9,reduceexpr_decimal,branch0,shift9,reduceexpr_integer,branch0,shift9,reduceexpr_text,reduceexpr_star_3_empty,shift9,reduceexpr_block,reduceexpr_star_3_rec,shift9,reduceexpr_rem,shift9,reduceexpr_lt,shift9,reduceexpr_mul,shift9,reduceexpr_le,shift9,reduceexpr_add,shift9,reduceexpr_div,shift9,reduceexpr_gt,shift9,reduceexpr_eq,shift9,reduceexpr_sub,shift9,reduceexpr_ge,shift9,reduceexpr_ne,reduceexpr_star_5_empty,shift9,reduceexpr_while,reduceexpr_star_5_rec,shift9,shift9,branch0,reduceexpr_if,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift9,reduceexpr_call,reduceexpr_star_4_rec,branch0,reduceexpr_star_2_rec,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] addArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] ltArray;
   @SuppressWarnings("unchecked")
-  private void initaddArray() {
-    addArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift23,branch0,reduceexpr_add,branch0,shift23,branch0,shift23,branch0,shift23,branch0,reduceexpr_sub,branch0,reduceexpr_rem,branch0,shift23,branch0,shift23,branch0,reduceexpr_div,branch0,shift23,branch0,reduceexpr_mul,shift23,branch0,branch0,reduceexpr_call,shift23,shift23,shift23,shift23,reduceexpr_if,shift23,branch0,reduceexpr_while,shift23,branch0,shift23,branch0};
+  private void initltArray() {
+    ltArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift24,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_mul,branch0,reduceexpr_le,branch0,reduceexpr_add,branch0,reduceexpr_div,branch0,reduceexpr_gt,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_ge,branch0,reduceexpr_ne,shift24,branch0,reduceexpr_while,shift24,shift24,shift24,shift24,reduceexpr_if,shift24,branch0,branch0,reduceexpr_call,shift24,branch0,shift24,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] textArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] assignArray;
   @SuppressWarnings("unchecked")
-  private void inittextArray() {
-    textArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift13,branch0,shift13,reduceexpr_text,branch0,shift13,reduceexpr_var_access,shift13,reduceexpr_integer,reduceexpr_star_3_empty,shift13,reduceexpr_block,reduceexpr_star_3_rec,shift13,reduceexpr_add,shift13,reduceexpr_gt,shift13,reduceexpr_ge,shift13,reduceexpr_eq,shift13,reduceexpr_sub,shift13,reduceexpr_rem,shift13,reduceexpr_lt,shift13,reduceexpr_le,shift13,reduceexpr_div,shift13,reduceexpr_ne,shift13,reduceexpr_mul,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift13,reduceexpr_call,reduceexpr_star_4_rec,shift13,shift13,branch0,reduceexpr_if,reduceexpr_star_5_empty,shift13,reduceexpr_while,reduceexpr_star_5_rec,branch0,reduceexpr_star_2_rec,branch0};
+  private void initassignArray() {
+    assignArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,shift10,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] geArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] decimalArray;
   @SuppressWarnings("unchecked")
-  private void initgeArray() {
-    geArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift27,branch0,reduceexpr_add,branch0,reduceexpr_gt,branch0,reduceexpr_ge,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_le,branch0,reduceexpr_div,branch0,reduceexpr_ne,branch0,reduceexpr_mul,shift27,branch0,branch0,reduceexpr_call,shift27,shift27,shift27,shift27,reduceexpr_if,shift27,branch0,reduceexpr_while,shift27,branch0,shift27,branch0};
+  private void initdecimalArray() {
+    decimalArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift11,reduceexpr_var_access,shift11,reduceexpr_decimal,branch0,shift11,reduceexpr_integer,branch0,shift11,reduceexpr_text,reduceexpr_star_3_empty,shift11,reduceexpr_block,reduceexpr_star_3_rec,shift11,reduceexpr_rem,shift11,reduceexpr_lt,shift11,reduceexpr_mul,shift11,reduceexpr_le,shift11,reduceexpr_add,shift11,reduceexpr_div,shift11,reduceexpr_gt,shift11,reduceexpr_eq,shift11,reduceexpr_sub,shift11,reduceexpr_ge,shift11,reduceexpr_ne,reduceexpr_star_5_empty,shift11,reduceexpr_while,reduceexpr_star_5_rec,shift11,shift11,branch0,reduceexpr_if,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift11,reduceexpr_call,reduceexpr_star_4_rec,branch0,reduceexpr_star_2_rec,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] eqArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] leArray;
   @SuppressWarnings("unchecked")
-  private void initeqArray() {
-    eqArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift29,branch0,reduceexpr_add,branch0,reduceexpr_gt,branch0,reduceexpr_ge,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_le,branch0,reduceexpr_div,branch0,reduceexpr_ne,branch0,reduceexpr_mul,shift29,branch0,branch0,reduceexpr_call,shift29,shift29,shift29,shift29,reduceexpr_if,shift29,branch0,reduceexpr_while,shift29,branch0,shift29,branch0};
+  private void initleArray() {
+    leArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift28,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_mul,branch0,reduceexpr_le,branch0,reduceexpr_add,branch0,reduceexpr_div,branch0,reduceexpr_gt,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_ge,branch0,reduceexpr_ne,shift28,branch0,reduceexpr_while,shift28,shift28,shift28,shift28,reduceexpr_if,shift28,branch0,branch0,reduceexpr_call,shift28,branch0,shift28,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] colonArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] if_Array;
   @SuppressWarnings("unchecked")
-  private void initcolonArray() {
-    colonArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,reduceid_star_1_empty,shift9,reduceid_star_1_rec,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0};
+  private void initif_Array() {
+    if_Array=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift12,reduceexpr_var_access,shift12,reduceexpr_decimal,branch0,shift12,reduceexpr_integer,branch0,shift12,reduceexpr_text,reduceexpr_star_3_empty,shift12,reduceexpr_block,reduceexpr_star_3_rec,shift12,reduceexpr_rem,shift12,reduceexpr_lt,shift12,reduceexpr_mul,shift12,reduceexpr_le,shift12,reduceexpr_add,shift12,reduceexpr_div,shift12,reduceexpr_gt,shift12,reduceexpr_eq,shift12,reduceexpr_sub,shift12,reduceexpr_ge,shift12,reduceexpr_ne,reduceexpr_star_5_empty,shift12,reduceexpr_while,reduceexpr_star_5_rec,shift12,shift12,branch0,reduceexpr_if,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift12,reduceexpr_call,reduceexpr_star_4_rec,branch0,reduceexpr_star_2_rec,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] rparArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] addArray;
   @SuppressWarnings("unchecked")
-  private void initrparArray() {
-    rparArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift58,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,reduceexpr_star_3_empty,shift21,reduceexpr_block,reduceexpr_star_3_rec,branch0,reduceexpr_add,branch0,reduceexpr_gt,branch0,reduceexpr_ge,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_le,branch0,reduceexpr_div,branch0,reduceexpr_ne,branch0,reduceexpr_mul,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift48,reduceexpr_call,reduceexpr_star_4_rec,branch0,branch0,shift53,reduceexpr_if,reduceexpr_star_5_empty,shift56,reduceexpr_while,reduceexpr_star_5_rec,branch0,reduceexpr_star_2_rec,branch0};
+  private void initaddArray() {
+    addArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift30,branch0,reduceexpr_rem,branch0,shift30,branch0,reduceexpr_mul,branch0,shift30,branch0,reduceexpr_add,branch0,reduceexpr_div,branch0,shift30,branch0,shift30,branch0,reduceexpr_sub,branch0,shift30,branch0,shift30,shift30,branch0,reduceexpr_while,shift30,shift30,shift30,shift30,reduceexpr_if,shift30,branch0,branch0,reduceexpr_call,shift30,branch0,shift30,branch0,branch0,branch0};
   }
   private Action<TerminalEnum,ProductionEnum,VersionEnum>[] integerArray;
   @SuppressWarnings("unchecked")
   private void initintegerArray() {
-    integerArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift18,branch0,shift18,reduceexpr_text,branch0,shift18,reduceexpr_var_access,shift18,reduceexpr_integer,reduceexpr_star_3_empty,shift18,reduceexpr_block,reduceexpr_star_3_rec,shift18,reduceexpr_add,shift18,reduceexpr_gt,shift18,reduceexpr_ge,shift18,reduceexpr_eq,shift18,reduceexpr_sub,shift18,reduceexpr_rem,shift18,reduceexpr_lt,shift18,reduceexpr_le,shift18,reduceexpr_div,shift18,reduceexpr_ne,shift18,reduceexpr_mul,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift18,reduceexpr_call,reduceexpr_star_4_rec,shift18,shift18,branch0,reduceexpr_if,reduceexpr_star_5_empty,shift18,reduceexpr_while,reduceexpr_star_5_rec,branch0,reduceexpr_star_2_rec,branch0};
+    integerArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift14,reduceexpr_var_access,shift14,reduceexpr_decimal,branch0,shift14,reduceexpr_integer,branch0,shift14,reduceexpr_text,reduceexpr_star_3_empty,shift14,reduceexpr_block,reduceexpr_star_3_rec,shift14,reduceexpr_rem,shift14,reduceexpr_lt,shift14,reduceexpr_mul,shift14,reduceexpr_le,shift14,reduceexpr_add,shift14,reduceexpr_div,shift14,reduceexpr_gt,shift14,reduceexpr_eq,shift14,reduceexpr_sub,shift14,reduceexpr_ge,shift14,reduceexpr_ne,reduceexpr_star_5_empty,shift14,reduceexpr_while,reduceexpr_star_5_rec,shift14,shift14,branch0,reduceexpr_if,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift14,reduceexpr_call,reduceexpr_star_4_rec,branch0,reduceexpr_star_2_rec,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] remArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] while_Array;
   @SuppressWarnings("unchecked")
-  private void initremArray() {
-    remArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift33,branch0,shift33,branch0,shift33,branch0,shift33,branch0,shift33,branch0,shift33,branch0,reduceexpr_rem,branch0,shift33,branch0,shift33,branch0,reduceexpr_div,branch0,shift33,branch0,reduceexpr_mul,shift33,branch0,branch0,reduceexpr_call,shift33,shift33,shift33,shift33,reduceexpr_if,shift33,branch0,reduceexpr_while,shift33,branch0,shift33,branch0};
+  private void initwhile_Array() {
+    while_Array=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift15,reduceexpr_var_access,shift15,reduceexpr_decimal,branch0,shift15,reduceexpr_integer,branch0,shift15,reduceexpr_text,reduceexpr_star_3_empty,shift15,reduceexpr_block,reduceexpr_star_3_rec,shift15,reduceexpr_rem,shift15,reduceexpr_lt,shift15,reduceexpr_mul,shift15,reduceexpr_le,shift15,reduceexpr_add,shift15,reduceexpr_div,shift15,reduceexpr_gt,shift15,reduceexpr_eq,shift15,reduceexpr_sub,shift15,reduceexpr_ge,shift15,reduceexpr_ne,reduceexpr_star_5_empty,shift15,reduceexpr_while,reduceexpr_star_5_rec,shift15,shift15,branch0,reduceexpr_if,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift15,reduceexpr_call,reduceexpr_star_4_rec,branch0,reduceexpr_star_2_rec,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] assignArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] colonArray;
   @SuppressWarnings("unchecked")
-  private void initassignArray() {
-    assignArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,shift17,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0};
+  private void initcolonArray() {
+    colonArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,reduceid_star_1_empty,shift7,reduceid_star_1_rec,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0};
   }
-  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] ltArray;
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] lparArray;
   @SuppressWarnings("unchecked")
-  private void initltArray() {
-    ltArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift35,branch0,reduceexpr_add,branch0,reduceexpr_gt,branch0,reduceexpr_ge,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_le,branch0,reduceexpr_div,branch0,reduceexpr_ne,branch0,reduceexpr_mul,shift35,branch0,branch0,reduceexpr_call,shift35,shift35,shift35,shift35,reduceexpr_if,shift35,branch0,reduceexpr_while,shift35,branch0,shift35,branch0};
+  private void initlparArray() {
+    lparArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,shift3,branch0,branch0,branch0,branch0,reduceexpr_star_2_empty,shift18,shift53,shift18,reduceexpr_decimal,shift13,shift18,reduceexpr_integer,shift16,shift18,reduceexpr_text,reduceexpr_star_3_empty,shift18,reduceexpr_block,reduceexpr_star_3_rec,shift18,reduceexpr_rem,shift18,reduceexpr_lt,shift18,reduceexpr_mul,shift18,reduceexpr_le,shift18,reduceexpr_add,shift18,reduceexpr_div,shift18,reduceexpr_gt,shift18,reduceexpr_eq,shift18,reduceexpr_sub,shift18,reduceexpr_ge,shift18,reduceexpr_ne,reduceexpr_star_5_empty,shift18,reduceexpr_while,reduceexpr_star_5_rec,shift18,shift18,branch0,reduceexpr_if,reduceexpr_var_assignment,reduceexpr_star_4_empty,shift18,reduceexpr_call,reduceexpr_star_4_rec,branch0,reduceexpr_star_2_rec,branch0,branch0,branch0};
   }
   private Action<TerminalEnum,ProductionEnum,VersionEnum>[] neArray;
   @SuppressWarnings("unchecked")
   private void initneArray() {
-    neArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_block,shift41,branch0,reduceexpr_add,branch0,reduceexpr_gt,branch0,reduceexpr_ge,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_le,branch0,reduceexpr_div,branch0,reduceexpr_ne,branch0,reduceexpr_mul,shift41,branch0,branch0,reduceexpr_call,shift41,shift41,shift41,shift41,reduceexpr_if,shift41,branch0,reduceexpr_while,shift41,branch0,shift41,branch0};
+    neArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reduceexpr_var_access,branch0,reduceexpr_decimal,branch0,branch0,reduceexpr_integer,branch0,branch0,reduceexpr_text,branch0,branch0,reduceexpr_block,shift42,branch0,reduceexpr_rem,branch0,reduceexpr_lt,branch0,reduceexpr_mul,branch0,reduceexpr_le,branch0,reduceexpr_add,branch0,reduceexpr_div,branch0,reduceexpr_gt,branch0,reduceexpr_eq,branch0,reduceexpr_sub,branch0,reduceexpr_ge,branch0,reduceexpr_ne,shift42,branch0,reduceexpr_while,shift42,shift42,shift42,shift42,reduceexpr_if,shift42,branch0,branch0,reduceexpr_call,shift42,branch0,shift42,branch0,branch0,branch0};
+  }
+  private Action<TerminalEnum,ProductionEnum,VersionEnum>[] fnArray;
+  @SuppressWarnings("unchecked")
+  private void initfnArray() {
+    fnArray=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{reducefun_star_0_empty,shift2,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,branch0,reducefun,branch0,reducefun_star_0_rec,branch0,branch0};
   }
 
   private Action<TerminalEnum,ProductionEnum,VersionEnum>[] branchArrayTable;
   @SuppressWarnings("unchecked")
   private void initBranchArrayTable() {
-    branchArrayTable=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{reducefun_star_0_empty,exit,exit,reducescript,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,reducefun,error0,reducefun_star_0_rec};
+    branchArrayTable=(Action<TerminalEnum,ProductionEnum,VersionEnum>[])new Action<?,?,?>[]{reducefun_star_0_empty,reducescript,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,error0,reducefun,error0,reducefun_star_0_rec,exit,exit};
   }
 
   private final ParserTable<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> table;
@@ -393,71 +403,73 @@ public class ParserDataTable {
   private final AcceptAction<TerminalEnum,ProductionEnum,VersionEnum> accept;
   private final ExitAction<TerminalEnum,ProductionEnum,VersionEnum> exit;
 
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_while;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reducefun;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_var_access;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_text;
   private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_var_assignment;
   private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reducescript;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_integer;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_4_rec;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_eq;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_ne;
   private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_gt;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_sub;
   private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceid_star_1_rec;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_3_empty;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_5_rec;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_ne;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_if;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_add;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_block;
   private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_2_rec;
   private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reducefun_star_0_empty;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_add;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_3_rec;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_4_empty;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_call;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceid_star_1_empty;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_5_rec;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_if;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_lt;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_decimal;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_5_empty;
   private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_ge;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_2_empty;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reducefun_star_0_rec;
   private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_rem;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceid_star_1_empty;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_le;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_3_empty;
   private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_div;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_var_access;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_block;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_3_rec;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_lt;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_4_empty;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_sub;
   private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_mul;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_text;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_5_empty;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_4_rec;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_eq;
-  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_call;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_integer;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reducefun_star_0_rec;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_le;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_star_2_empty;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reduceexpr_while;
+  private final ReduceAction<TerminalEnum,ProductionEnum,VersionEnum> reducefun;
 
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift56;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift48;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift4;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift5;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift25;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift9;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift18;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift29;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift8;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift10;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift40;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift16;
   private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift14;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift43;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift11;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift35;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift6;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift33;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift27;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift41;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift21;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift31;
   private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift46;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift55;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift26;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift4;
   private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift53;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift17;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift58;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift12;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift11;
   private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift15;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift16;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift42;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift20;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift12;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift6;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift3;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift30;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift51;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift22;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift9;
   private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift13;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift23;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift39;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift19;
-  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift37;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift18;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift17;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift28;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift2;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift32;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift57;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift24;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift38;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift7;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift36;
+  private final ShiftAction<TerminalEnum,ProductionEnum,VersionEnum> shift34;
 
 
   private final ErrorAction<TerminalEnum,ProductionEnum,VersionEnum> error0;
@@ -465,47 +477,48 @@ public class ParserDataTable {
   private final BranchAction<TerminalEnum,ProductionEnum,VersionEnum> branch0;
 
 
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0id_star_1_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0while__metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0sub_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_star_5_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0mul_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0id_metadata0reduceid_star_1_rec;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0assign_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0integer_metadata0reduceexpr_integer;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_star_2_metadata0null;
   private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_metadata0reduceexpr_div;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0rpar_metadata0reduceexpr_block;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0lpar_metadata0reduceexpr_star_3_empty;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_star_4_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0rem_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_metadata0reduceexpr_rem;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0__eof___metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0gt_metadata0null;
   private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0fun_metadata0reducefun_star_0_rec;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0ge_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0script_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0null_metadata0reducefun_star_0_empty;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_star_3_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0lt_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0ne_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0rpar_metadata0reducefun;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0id_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0lpar_metadata0null;
   private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0if__metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0fun_star_0_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0ge_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0integer_metadata0reduceexpr_integer;
   private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0eq_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0div_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0rpar_metadata0reduceexpr_while;
   private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0lpar_metadata0reduceexpr_star_4_empty;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_star_2_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0colon_metadata0reduceexpr_star_2_empty;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0decimal_metadata0reduceexpr_decimal;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0mul_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0null_metadata0reducefun_star_0_empty;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0rem_metadata0null;
   private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_metadata0reduceexpr_mul;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0lpar_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0text_metadata0reduceexpr_text;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0id_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0rpar_metadata0reducefun;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0add_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0fn_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0sub_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0fun_star_0_metadata0null;
   private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0le_metadata0null;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0id_metadata0reduceid_star_1_empty;
-  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0ne_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0lpar_metadata0reduceexpr_star_3_empty;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_star_4_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0add_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0id_star_1_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0while__metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0assign_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0id_metadata0reduceid_star_1_rec;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0colon_metadata0reduceexpr_star_2_empty;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0lt_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0rpar_metadata0reduceexpr_block;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_star_3_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_metadata0null;
   private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0rpar_metadata0reduceexpr_call;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0id_metadata0reduceid_star_1_empty;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0fn_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0rpar_metadata0reduceexpr_while;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_metadata0reduceexpr_rem;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0__eof___metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0gt_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0expr_star_5_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0text_metadata0reduceexpr_text;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0div_metadata0null;
+  private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0script_metadata0null;
   private StateMetadata<TerminalEnum,NonTerminalEnum,ProductionEnum,VersionEnum> metadata0rpar_metadata0reduceexpr_if;
 }
@@ -13,6 +13,7 @@ expr_star_2_empty,
 expr_star_2_rec,
 fun,
 expr_integer,
+expr_decimal,
 expr_text,
 expr_star_3_empty,
 expr_star_3_rec,
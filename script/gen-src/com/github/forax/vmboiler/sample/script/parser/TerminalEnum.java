@@ -25,6 +25,7 @@ if_,
 while_,
 text,
 integer,
+decimal,
 id,
 __eof__
 ;
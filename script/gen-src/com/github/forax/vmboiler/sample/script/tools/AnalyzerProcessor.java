@@ -140,6 +140,12 @@ public class AnalyzerProcessor<B extends LexerBuffer,D>
                                   Object integer=terminalEvaluator.integer(data);
                                       stack.push_Object(integer);
                                  return;
+           }
+                 case decimal: {
+         data=dataViewer.view(buffer);
+                                  Double decimal=terminalEvaluator.decimal(data);
+                                      stack.push_Object(decimal);
+                                 return;
            }
                  case id: {
          data=dataViewer.view(buffer);
@@ -217,6 +223,12 @@ public class AnalyzerProcessor<B extends LexerBuffer,D>
                                  Object integer=(Object)stack.pop_Object();
                                                 stack.push_Object(grammarEvaluator.expr_integer(integer));
                       
+          }
+          return;
+                    case expr_decimal: { // not synthetic
+                                 Double decimal=(Double)stack.pop_Object();
+                                                stack.push_Object(grammarEvaluator.expr_decimal(decimal));
+                      
           }
           return;
                     case expr_text: { // not synthetic
@@ -462,6 +474,9 @@ public class AnalyzerProcessor<B extends LexerBuffer,D>
               return;
                          case integer:
               stack.pop_Object();
+              return;
+                         case decimal:
+              stack.pop_Object();
               return;
                          case id:
               stack.pop_Object();
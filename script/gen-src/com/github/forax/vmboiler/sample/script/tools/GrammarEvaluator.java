@@ -23,6 +23,11 @@ public interface GrammarEvaluator {
    *  <code>expr ::= integer</code>
    */
   public Expr expr_integer(Object integer);
+  /** This methods is called after the reduction of the non terminal expr
+   *  by the grammar production expr_decimal.
+   *  <code>expr ::= decimal</code>
+   */
+  public Expr expr_decimal(Double decimal);
   /** This methods is called after the reduction of the non terminal expr
    *  by the grammar production expr_text.
    *  <code>expr ::= text</code>
@@ -1,23 +1,47 @@
-import java.io.FileReader;
+import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.stream.Collectors;
 
+import com.github.forax.vmboiler.sample.script.Aot;
 import com.github.forax.vmboiler.sample.script.Linker;
 import com.github.forax.vmboiler.sample.script.Parser;
 import com.github.forax.vmboiler.sample.script.Script;
 
 public class Main {
   public static void main(String[] args) throws Throwable {
-    Reader reader;
+    // run the specializations compiled ahead of time
+    if (args.length == 0 && Aot.isAvailable()) {
+      run(Aot.load());
+      return;
+    }
+    
+    String source;
     if (args.length>0) {
-      reader = new FileReader(args[0]);
+      source = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
     } else {
-      reader = new InputStreamReader(System.in);
+      try(Reader reader = new InputStreamReader(System.in)) {
+        source = new BufferedReader(reader).lines().collect(Collectors.joining("\n"));
+      }
     }
-    Script script = Parser.parse(reader);
+    Script script = Parser.parse(new StringReader(source));
     Linker linker = new Linker(script);
+    run(linker);
+    
+    // save the generated specializations, -Dscript.aot=file.jar
+    String aot = System.getProperty("script.aot");
+    if (aot != null) {
+      Aot.write(Paths.get(aot), source, linker);
+    }
+  }
+  
+  private static void run(Linker linker) throws Throwable {
     MethodHandle main = linker.getCallSite("main", MethodType.methodType(Object.class)).getTarget();
     main.invoke();
   }
@@ -0,0 +1,64 @@
+import java.io.FileReader;
+import java.io.Reader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import com.github.forax.vmboiler.sample.script.Linker;
+import com.github.forax.vmboiler.sample.script.Parser;
+import com.github.forax.vmboiler.sample.script.Script;
+
+/**
+ * Run the main of a script on several threads sharing the same linker.
+ * 
+ * java -cp script.jar Stress benchmarks/gcd.script [threads] [iterations]
+ */
+public class Stress {
+  public static void main(String[] args) throws Throwable {
+    Script script;
+    try(Reader reader = new FileReader(args[0])) {
+      script = Parser.parse(reader);
+    }
+    int threadCount = (args.length > 1)? Integer.parseInt(args[1]): Runtime.getRuntime().availableProcessors();
+    int iterations = (args.length > 2)? Integer.parseInt(args[2]): 100;
+    
+    Linker linker = new Linker(script);
+    MethodHandle main = linker.getCallSite("main", MethodType.methodType(Object.class)).dynamicInvoker();
+    
+    CountDownLatch start = new CountDownLatch(1);
+    ArrayList<Thread> threads = new ArrayList<>();
+    ArrayList<Throwable> errors = new ArrayList<>();
+    for(int i = 0; i < threadCount; i++) {
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+          for(int j = 0; j < iterations; j++) {
+            main.invoke();
+          }
+        } catch(Throwable e) {
+          synchronized(errors) {
+            errors.add(e);
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    
+    long startTime = System.nanoTime();
+    start.countDown();
+    for(Thread thread: threads) {
+      thread.join();
+    }
+    long endTime = System.nanoTime();
+    
+    for(Throwable error: errors) {
+      error.printStackTrace();
+    }
+    System.err.println(threadCount + " threads x " + iterations + " iterations in " + (endTime - startTime) / 1_000_000 + " ms");
+    if (!errors.isEmpty()) {
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package com.github.forax.vmboiler.sample.script;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.SwitchPoint;
+import java.math.BigInteger;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Ahead of time compilation of a script.
+ *
+ * When the system property {@code script.aot} is set, the last generated code of each specialization
+ * is saved at the end of the run (a training run) in a jar with the constant pool patches
+ * described as text and the source of the script.
+ * When the jar is executed, the specializations are defined from the jar, so neither the parser
+ * nor ASM are loaded unless a specialization that was not seen during the training run is needed.
+ *
+ * A specialization loaded from the jar has no bindings, so at its first deoptimization,
+ * it's replaced by a code generated from the source of the script that is invalidated as usual.
+ * Using a type profile (see {@link Profile}) during the training run avoids to save code
+ * that was invalidated at the end of the run.
+ */
+public class Aot {
+  static final String OUTPUT = System.getProperty("script.aot");
+
+  private static final String UNITS_ENTRY = "aot/units";
+
+  // the generated code of a specialization
+  static class Unit {
+    final String name;
+    final String desc;
+    final byte[] bytecode;
+    final String[] descriptions;  // indexed by constant pool index
+
+    Unit(String name, String desc, byte[] bytecode, String[] descriptions) {
+      this.name = name;
+      this.desc = desc;
+      this.bytecode = bytecode;
+      this.descriptions = descriptions;
+    }
+  }
+
+  /**
+   * Write the specializations generated by a linker in a jar.
+   * @param path the path of the jar.
+   * @param source the source of the script.
+   * @param linker the linker used by the training run.
+   * @throws IOException if an I/O error occurs.
+   */
+  public static void write(Path path, String source, Linker linker) throws IOException {
+    Manifest manifest = new Manifest();
+    Attributes attributes = manifest.getMainAttributes();
+    attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    attributes.put(Attributes.Name.MAIN_CLASS, "Main");
+    attributes.put(Attributes.Name.CLASS_PATH, runtimeLocation());
+
+    try(JarOutputStream output = new JarOutputStream(Files.newOutputStream(path), manifest)) {
+      output.putNextEntry(new JarEntry(UNITS_ENTRY));
+      DataOutputStream data = new DataOutputStream(output);
+      byte[] sourceBytes = source.getBytes(StandardCharsets.UTF_8);
+      data.writeInt(sourceBytes.length);
+      data.write(sourceBytes);
+      Map<String, Unit> units = linker.units();
+      data.writeInt(units.size());
+      for(Unit unit: units.values()) {
+        data.writeUTF(unit.name);
+        data.writeUTF(unit.desc);
+        data.writeInt(unit.bytecode.length);
+        data.write(unit.bytecode);
+        String[] descriptions = unit.descriptions;
+        data.writeInt(descriptions.length);
+        for(int i = 0; i < descriptions.length; i++) {
+          if (descriptions[i] != null) {
+            data.writeInt(i);
+            data.writeUTF(descriptions[i]);
+          }
+        }
+        data.writeInt(-1);
+      }
+      data.flush();
+      output.closeEntry();
+    }
+  }
+
+  // the location of the runtime (this jar)
+  private static String runtimeLocation() {
+    try {
+      return Aot.class.getProtectionDomain().getCodeSource().getLocation().toURI().toString();
+    } catch (URISyntaxException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /**
+   * Returns true if the specializations compiled ahead of time are available in the classpath.
+   * @return true if the specializations compiled ahead of time are available in the classpath.
+   */
+  public static boolean isAvailable() {
+    return ClassLoader.getSystemResource(UNITS_ENTRY) != null;
+  }
+
+  /**
+   * Create a linker that uses the specializations compiled ahead of time.
+   * @return a new linker.
+   */
+  public static Linker load() {
+    try(InputStream input = ClassLoader.getSystemResourceAsStream(UNITS_ENTRY)) {
+      DataInputStream data = new DataInputStream(input);
+      byte[] sourceBytes = new byte[data.readInt()];
+      data.readFully(sourceBytes);
+      String source = new String(sourceBytes, StandardCharsets.UTF_8);
+      Linker linker = new Linker(parser(source));
+      int count = data.readInt();
+      for(int i = 0; i < count; i++) {
+        String name = data.readUTF();
+        String desc = data.readUTF();
+        byte[] bytecode = new byte[data.readInt()];
+        data.readFully(bytecode);
+        Object[] patches = new Object[data.readInt()];
+        SwitchPoint switchPoint = new SwitchPoint();
+        int index;
+        while((index = data.readInt()) != -1) {
+          patches[index] = patch(data.readUTF(), name + desc, switchPoint, linker);
+        }
+        linker.precompiled(name + desc, RT.define(name, desc, bytecode, patches), switchPoint);
+      }
+      return linker;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // the script is parsed at most once and only if needed
+  private static Supplier<Script> parser(String source) {
+    Script[] script = { null };
+    return () -> {
+      synchronized(script) {
+        if (script[0] == null) {
+          script[0] = Parser.parse(new StringReader(source));
+        }
+        return script[0];
+      }
+    };
+  }
+
+  // re-create the value of a constant pool patch from its description, see Generator.Env,
+  // the deoptimizations are reported to the specialization that contains the patch
+  // even if the deoptimization occurs in an inlined function
+  private static Object patch(String description, String nameAndType, SwitchPoint switchPoint, Linker linker) {
+    if (description.equals("linker")) {
+      return linker;
+    }
+    String[] tokens = description.split(" ");
+    switch(tokens[0]) {
+    case "deopt_args":
+      return MethodHandles.insertArguments(RT.DEOPT_PRECOMPILED_ARGS, 0, linker, nameAndType);
+    case "deopt_return":
+      return MethodHandles.insertArguments(RT.DEOPT_PRECOMPILED_RETURN, 0, linker, nameAndType);
+    case "bigint":
+      return new BigInteger(tokens[1]);
+    case "switchpoint":
+      // invalidated when the specialization is replaced, see Linker.deoptimizedPrecompiled()
+      return switchPoint;
+    default:
+      throw new IllegalStateException("unknown patch " + description);
+    }
+  }
+}
@@ -1,9 +1,10 @@
 package com.github.forax.vmboiler.sample.script;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 public class Binding {
-  private Type type;
+  private volatile Type type;
 
   public Binding(Type type) {
     this.type = Objects.requireNonNull(type);
@@ -13,12 +14,31 @@ public class Binding {
     return type;
   }
 
-  public void type(Type type) {
-    this.type = type;
+  /**
+   * Merge the type of the binding with a new type,
+   * the type of a binding only goes up in the type lattice, see {@link Type#merge(Type, Type)},
+   * even if several threads update it concurrently.
+   * @param newType the type to merge with.
+   * @return true if the type of the binding has changed.
+   */
+  public boolean widen(Type newType) {
+    for(;;) {
+      Type type = this.type;
+      Type mergedType = Type.merge(type, newType);
+      if (mergedType == type) {
+        return false;
+      }
+      if (TYPE_UPDATER.compareAndSet(this, type, mergedType)) {
+        return true;
+      }
+    }
   }
   
   @Override
   public String toString() {
     return "binding(" + type + ')';
   }
-}
\ No newline at end of file
+  
+  private static final AtomicReferenceFieldUpdater<Binding, Type> TYPE_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(Binding.class, Type.class, "type");
+}
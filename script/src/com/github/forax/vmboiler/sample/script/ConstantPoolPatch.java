@@ -8,21 +8,31 @@ public class ConstantPoolPatch {
   private final ClassWriter writer;
   private int[] indexes = new int[32];
   private Object[] values = new Object[32];
+  private String[] descriptions = new String[32];
   private int size;
   
   public ConstantPoolPatch(ClassWriter writer) {
     this.writer = writer;
   }
   
-  public String encode(Object o) {
+  /**
+   * Encode a value as a constant pool patch.
+   * @param o the value.
+   * @param description a textual description of the value used to re-create it
+   *        when the code is loaded ahead of time, see {@link Aot}.
+   * @return the placeholder string constant of the patch. 
+   */
+  public String encode(Object o, String description) {
     if (size == indexes.length) {
       indexes = Arrays.copyOf(indexes, size << 1);
       values = Arrays.copyOf(values, size << 1);
+      descriptions = Arrays.copyOf(descriptions, size << 1);
     }
     String mangled = "<<PATCH" + size + ">>";
     int index = writer.newConst(mangled);
     indexes[size] = index;
     values[size] = o;
+    descriptions[size] = description;
     size++;
     return mangled;
   }
@@ -30,9 +40,18 @@ public class ConstantPoolPatch {
   public Object[] createPatchArray() {
     int constantPoolSize = writer.newConst("<<SENTINEL>>");
     Object[] patches = new Object[constantPoolSize];
-    for(int i = 0; i < indexes.length; i++) {
+    for(int i = 0; i < size; i++) {
       patches[indexes[i]] = values[i];
     }
     return patches;
   }
+  
+  public String[] createDescriptionArray() {
+    int constantPoolSize = writer.newConst("<<SENTINEL>>");
+    String[] patches = new String[constantPoolSize];
+    for(int i = 0; i < size; i++) {
+      patches[indexes[i]] = descriptions[i];
+    }
+    return patches;
+  }
 }
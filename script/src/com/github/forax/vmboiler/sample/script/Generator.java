@@ -10,14 +10,19 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.invoke.MethodType;
-import java.lang.reflect.Field;
+import java.lang.invoke.SwitchPoint;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.objectweb.asm.ClassReader;
@@ -27,15 +32,12 @@ import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.util.CheckClassAdapter;
 
-import sun.misc.Unsafe;
-
 import com.github.forax.vmboiler.CodeGen;
 import com.github.forax.vmboiler.Constant;
 import com.github.forax.vmboiler.Value;
 import com.github.forax.vmboiler.sample.script.Expr.Parameter;
 import com.github.forax.vmboiler.sample.script.Expr.*;
 
-@SuppressWarnings("restriction")
 public class Generator {
   static class Env {
     final CodeGen codeGen;
@@ -48,10 +50,29 @@ public class Generator {
     
     Var expectedVar;
     
+    // the self tail calls are compiled as an assignment of the parameters and a jump to the body
+    Set<Call> tailCalls = Collections.emptySet();
+    List<Parameter> parameters;
+    Label bodyLabel;
+    
+    // the loops that can continue in a newly generated code when the code is invalidated,
+    // and in a continuation, the loop where the execution starts
+    Map<While, OsrLoop> osrLoops = Collections.emptyMap();
+    While osrEntry;
+    Label osrLabel;
+    
+    // the switch point invalidated with the generated code
+    SwitchPoint switchPoint;
+    private String switchPointPlaceholder;
+    
     Env(CodeGen codeGen, Linker linker, String nameAndType, ConstantPoolPatch constantPoolPatch, HashMap<Binding, Var> varMap, HashMap<Expr, Binding> bindingMap) {
+      this(codeGen, linker, constantPoolPatch.encode(linker, "linker"), nameAndType, constantPoolPatch, varMap, bindingMap);
+    }
+    
+    private Env(CodeGen codeGen, Linker linker, String linkerPlaceholder, String nameAndType, ConstantPoolPatch constantPoolPatch, HashMap<Binding, Var> varMap, HashMap<Expr, Binding> bindingMap) {
       this.codeGen = codeGen;
       this.linker = linker;
-      this.linkerPlaceholder = constantPoolPatch.encode(linker);
+      this.linkerPlaceholder = linkerPlaceholder;
       this.nameAndType = nameAndType;
       this.constantPoolPatch = constantPoolPatch;
       this.varMap = varMap;
@@ -59,10 +80,24 @@ public class Generator {
     }
     
     String encodeDeopt(MethodHandle mh, Object o) {
-      return constantPoolPatch.encode(MethodHandles.insertArguments(mh, 0, linker, nameAndType, o));
+      String description = (mh == RT.DEOPT_ARGS)?
+          "deopt_args " + nameAndType + ' ' + ((Binding[])o).length:
+          "deopt_return " + nameAndType;
+      return constantPoolPatch.encode(MethodHandles.insertArguments(mh, 0, linker, nameAndType, o), description);
+    }
+    String encodeConst(BigInteger constant) {
+      return constantPoolPatch.encode(constant, "bigint " + constant);
+    }
+    String encodeSwitchPoint() {
+      if (switchPointPlaceholder == null) {
+        switchPointPlaceholder = constantPoolPatch.encode(switchPoint, "switchpoint");
+      }
+      return switchPointPlaceholder;
     }
-    String encodeConst(Object constant) {
-      return constantPoolPatch.encode(constant);
+    
+    // the environment of an inlined function, the deoptimizations are reported to the inlined specialization
+    Env inlined(String nameAndType, HashMap<Expr, Binding> bindingMap) {
+      return new Env(codeGen, linker, linkerPlaceholder, nameAndType, constantPoolPatch, new HashMap<>(), bindingMap);
     }
     
     Env expectedVar(Var var) {
@@ -82,42 +117,77 @@ public class Generator {
     }
   }
   
+  // a loop of a function that can be entered in the middle of the execution (on-stack replacement)
+  static final class OsrLoop {
+    final int index;
+    final List<Expr> definitions;  // the definitions of the variables in scope at the start of the loop
+    
+    OsrLoop(int index, List<Expr> definitions) {
+      this.index = index;
+      this.definitions = definitions;
+    }
+  }
+  
   private static final Constant NULL = new Constant(Type.OBJECT, null);
   
-  public static MethodHandle generate(Fn fn, Linker linker, HashMap<Expr, Binding> bindingMap, Type returnType, String name, Type[] parameterTypes) {
+  // outline the deoptimization paths into cold methods
+  private static final boolean COLD_SIDE_EXITS = Boolean.getBoolean("script.coldSideExits");
+  // continue the loops of an invalidated code in a code generated with the new bindings
+  private static final boolean OSR = Boolean.getBoolean("script.osr");
+  
+  /**
+   * Generate the code of a specialization of a function.
+   * @param fn the function.
+   * @param linker the linker used to call other functions.
+   * @param bindingMap the bindings of the specialization.
+   * @param returnType the return type of the specialization.
+   * @param name the name of the function.
+   * @param parameterTypes the parameter types of the specialization.
+   * @param switchPoint the switch point invalidated with the generated code.
+   * @param osrLoop -1 to generate the function or the index of a loop to generate
+   *        a continuation that starts at that loop, see {@link #osrLoops(Fn)}.
+   * @return a method handle on the generated code.
+   */
+  public static MethodHandle generate(Fn fn, Linker linker, HashMap<Expr, Binding> bindingMap, Type returnType, String name, Type[] parameterTypes,
+      SwitchPoint switchPoint, int osrLoop) {
     ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS|ClassWriter.COMPUTE_FRAMES);
     writer.visit(V1_8, ACC_PUBLIC|ACC_SUPER, "Fn", null, "java/lang/Object", null);
     ConstantPoolPatch constantPoolPatch = new ConstantPoolPatch(writer);
     
     String desc = Arrays.stream(parameterTypes).map(Type::vmType).collect(Collectors.joining("", "(", ")"))
         + returnType.vmType();
-    MethodVisitor mv = writer.visitMethod(ACC_PUBLIC|ACC_STATIC, name, desc, null, null);
-    CodeGen codeGen = new CodeGen(mv, returnType);
+    // a continuation is also asked by the Interpreter to leave a loop, even if the on-stack replacement is disabled
+    Map<While, OsrLoop> osrLoops = (OSR || osrLoop != -1)? osrLoops(fn): Collections.emptyMap();
+    While osrWhile = (osrLoop == -1)? null:
+      osrLoops.keySet().stream().filter(loop -> osrLoops.get(loop).index == osrLoop).findFirst().get();
+    OsrLoop osrEntry = osrLoops.get(osrWhile);
+    String methodName = (osrEntry == null)? name: name + "$osr" + osrLoop;
+    String methodDesc = (osrEntry == null)? desc: osrDescriptor(osrEntry, returnType.vmType());
+    MethodVisitor mv = writer.visitMethod(ACC_PUBLIC|ACC_STATIC, methodName, methodDesc, null, null);
+    CodeGen codeGen = RT.CARRIER_RETURN?
+        new CodeGen(mv, returnType, CodeGen.Option.CARRIER_RETURN):
+        new CodeGen(mv, returnType);
     mv.visitCode();
     
-    HashMap<Binding, Var> varMap = new HashMap<>();
-    ArrayList<Var> mixedParameterVars = new ArrayList<>();
+    Env env = new Env(codeGen, linker, name + desc, constantPoolPatch, new HashMap<>(), bindingMap);
+    env.switchPoint = switchPoint;
+    env.osrLoops = OSR? osrLoops: Collections.emptyMap();
+    Set<Call> tailCalls = TypeInferer.selfTailCalls(fn);
     List<Parameter> parameters = fn.parameters();
-    for(int i = 0; i < parameters.size(); i++) {
-      Type parameterType = parameterTypes[i];
-      Parameter parameter = parameters.get(i);
-      Binding binding = bindingMap.get(parameter);
-      Var parameterVar = createVar(codeGen, parameterType, parameter.name(), false, binding);
-      if (binding.type() == parameterType) {
-        varMap.put(binding, parameterVar);
-      } else {
-        mixedParameterVars.add(parameterVar); // need a new variable with a mixed type
+    if (osrEntry == null) {
+      if (isSelfRecursive(fn, tailCalls)) {
+        checkDirectCalls(mv, name, desc, parameterTypes, env);
       }
+      declareParameters(parameters, parameterTypes, env);
+    } else {
+      osrEntry(osrWhile, osrEntry, env);
     }
     
-    // we need two passes here, because all parameter declarations must be done first
-    // but some parameters may have a mixed type so require a new variable
-    Env env = new Env(codeGen, linker, name + desc, constantPoolPatch, varMap, bindingMap);
-    for(Var parameterVar: mixedParameterVars) {
-      Binding binding = parameterVar.binding;
-      Var var = createVar(codeGen, binding.type(), parameterVar.name, false, binding);
-      convert(var, parameterVar, env);
-      varMap.put(binding, var);
+    if (!tailCalls.isEmpty()) {
+      env.tailCalls = tailCalls;
+      env.parameters = parameters;
+      env.bodyLabel = new Label();
+      codeGen.label(env.bodyLabel);
     }
     
     Value value = VISITOR.call(fn.block(), env);
@@ -130,7 +200,11 @@ public class Generator {
       env.codeGen.ret(var);
     }
     
-    codeGen.end();
+    if (COLD_SIDE_EXITS) {
+      codeGen.end(writer, "Fn", methodName + "$deopt");
+    } else {
+      codeGen.end();
+    }
     mv.visitMaxs(-1, -1);
     mv.visitEnd();
     writer.visitEnd();
@@ -144,26 +218,191 @@ public class Generator {
       throw new UncheckedIOException(e);
     }*/
     
-    Class<?> clazz = UNSAFE.defineAnonymousClass(RT.class, bytecode, constantPoolPatch.createPatchArray());
-    UNSAFE.ensureClassInitialized(clazz);
-    try {
-      return MethodHandles.publicLookup().findStatic(clazz, name, MethodType.fromMethodDescriptorString(desc, null));
-    } catch (NoSuchMethodException | IllegalAccessException | TypeNotPresentException e) {
-      throw new AssertionError(e);
+    if (osrEntry == null) {  // a continuation is never saved, it's only used by the code it replaces
+      linker.compiled(name, desc, bytecode, constantPoolPatch.createDescriptionArray());
     }
+    return RT.define(methodName, methodDesc, bytecode, constantPoolPatch.createPatchArray());
   }
   
-  private static final Unsafe UNSAFE;
-  static {
-    try {
-      Field field = Unsafe.class.getDeclaredField("theUnsafe");
-      field.setAccessible(true);
-      UNSAFE = (Unsafe)field.get(null);
-    } catch (NoSuchFieldException | IllegalAccessException e) {
-      throw new AssertionError(e);
+  private static void declareParameters(List<Parameter> parameters, Type[] parameterTypes, Env env) {
+    CodeGen codeGen = env.codeGen;
+    HashMap<Binding, Var> varMap = env.varMap;
+    ArrayList<Var> mixedParameterVars = new ArrayList<>();
+    for(int i = 0; i < parameters.size(); i++) {
+      Type parameterType = parameterTypes[i];
+      Parameter parameter = parameters.get(i);
+      Binding binding = env.bindingMap.get(parameter);
+      Var parameterVar = createVar(codeGen, parameterType, parameter.name(), false, binding);
+      if (binding.type() == parameterType) {
+        varMap.put(binding, parameterVar);
+      } else {
+        mixedParameterVars.add(parameterVar); // need a new variable with a mixed type
+      }
+    }
+    
+    // we need two passes here, because all parameter declarations must be done first
+    // but some parameters may have a mixed type so require a new variable
+    for(Var parameterVar: mixedParameterVars) {
+      Binding binding = parameterVar.binding;
+      Var var = createVar(codeGen, binding.type(), parameterVar.name, false, binding);
+      convert(var, parameterVar, env);
+      varMap.put(binding, var);
+    }
+  }
+  
+  // the calls of a function to itself with the same parameter types are direct calls (invokestatic)
+  // apart from the tail calls that are jumps
+  private static boolean isSelfRecursive(Fn fn, Set<Call> tailCalls) {
+    return Profile.exprs(fn).stream()
+        .anyMatch(expr -> expr instanceof Call && ((Call)expr).name().equals(fn.name()) && !((Call)expr).optionalOp().isPresent()
+            && !tailCalls.contains(expr));
+  }
+  
+  // a direct call doesn't go through the call site, so when the generated code is invalidated,
+  // the switch point is invalidated and the code calls the new code through the call site 
+  private static void checkDirectCalls(MethodVisitor mv, String name, String desc, Type[] parameterTypes, Env env) {
+    Label valid = new Label();
+    mv.visitInvokeDynamicInsn("valid", "()Z", BSM_VALID, env.encodeSwitchPoint());
+    mv.visitJumpInsn(IFNE, valid);
+    int slot = 0;
+    for(Type parameterType: parameterTypes) {
+      org.objectweb.asm.Type type = org.objectweb.asm.Type.getType(parameterType.vmType());
+      mv.visitVarInsn(type.getOpcode(ILOAD), slot);
+      slot += type.getSize();
+    }
+    mv.visitInvokeDynamicInsn(name, desc, BSM, env.linkerPlaceholder);
+    mv.visitInsn(org.objectweb.asm.Type.getReturnType(desc).getOpcode(IRETURN));
+    mv.visitLabel(valid);
+  }
+  
+  /**
+   * Returns the loops that are an entry point of a continuation indexed by their position in the function.
+   * A loop is an entry point if it's not part of an expression, so the only values alive
+   * at the start of the loop are the ones of the variables in scope.
+   * @param fn the function.
+   * @return the loops that are an entry point of a continuation.
+   */
+  static Map<While, OsrLoop> osrLoops(Fn fn) {
+    LinkedHashMap<While, OsrLoop> osrLoops = new LinkedHashMap<>();
+    LinkedHashMap<String, Expr> scope = new LinkedHashMap<>();
+    fn.parameters().forEach(parameter -> scope.put(parameter.name(), parameter));
+    OSR_LOOPS.call(fn.block(), new OsrScope(scope, true, osrLoops));
+    return osrLoops;
+  }
+  
+  // the definitions of the variables in scope, the scopes follow the rules of the TypeInferer
+  private static final class OsrScope {
+    final LinkedHashMap<String, Expr> definitions;
+    final boolean statement;
+    final LinkedHashMap<While, OsrLoop> osrLoops;
+    
+    OsrScope(LinkedHashMap<String, Expr> definitions, boolean statement, LinkedHashMap<While, OsrLoop> osrLoops) {
+      this.definitions = definitions;
+      this.statement = statement;
+      this.osrLoops = osrLoops;
+    }
+    
+    OsrScope newScope(boolean statement) {
+      return new OsrScope(new LinkedHashMap<>(definitions), statement, osrLoops);
+    }
+    
+    OsrScope expression() {
+      return new OsrScope(definitions, false, osrLoops);
     }
   }
   
+  private static final Visitor<Void, OsrScope> OSR_LOOPS = new Visitor<Void, OsrScope>()
+      .when(Literal.class, (literal, scope) -> null)
+      .when(VarAccess.class, (varAccess, scope) -> null)
+      .when(Block.class, (block, scope) -> {
+        block.exprs().forEach(expr -> Generator.OSR_LOOPS.call(expr, scope));
+        return null;
+      })
+      .when(VarAssignment.class, (varAssignment, scope) -> {
+        Generator.OSR_LOOPS.call(varAssignment.expr(), scope.expression());
+        scope.definitions.putIfAbsent(varAssignment.name(), varAssignment);
+        return null;
+      })
+      .when(Call.class, (call, scope) -> {
+        call.exprs().forEach(expr -> Generator.OSR_LOOPS.call(expr, scope.expression()));
+        return null;
+      })
+      .when(If.class, (if_, scope) -> {
+        Generator.OSR_LOOPS.call(if_.condition(), scope.expression());
+        OsrScope trueScope = scope.newScope(scope.statement);
+        OsrScope falseScope = scope.newScope(scope.statement);
+        Generator.OSR_LOOPS.call(if_.truePart(), trueScope);
+        Generator.OSR_LOOPS.call(if_.falsePart(), falseScope);
+        trueScope.definitions.forEach((name, definition) -> {
+          if (falseScope.definitions.containsKey(name)) {
+            scope.definitions.putIfAbsent(name, definition);
+          }
+        });
+        return null;
+      })
+      .when(While.class, (while_, scope) -> {
+        if (scope.statement) {
+          scope.osrLoops.put(while_, new OsrLoop(scope.osrLoops.size(), new ArrayList<>(scope.definitions.values())));
+        }
+        Generator.OSR_LOOPS.call(while_.condition(), scope.expression());
+        Generator.OSR_LOOPS.call(while_.body(), scope.newScope(scope.statement));
+        return null;
+      })
+      ;
+  
+  private static String osrDescriptor(OsrLoop loop, String returnDesc) {
+    return loop.definitions.stream().map(definition -> "Ljava/lang/Object;").collect(Collectors.joining("", "(", ")"))
+        + returnDesc;
+  }
+  
+  private static String variableName(Expr definition) {
+    return (definition instanceof Parameter)? ((Parameter)definition).name(): ((VarAssignment)definition).name();
+  }
+  
+  // at the end of an iteration, if the code was invalidated, the values of the variables in scope
+  // are boxed and the execution continues in a code generated with the new bindings
+  private static void osrExit(OsrLoop loop, Env env) {
+    MethodVisitor mv = env.codeGen.methodVisitor();
+    Label valid = new Label();
+    mv.visitInvokeDynamicInsn("valid", "()Z", BSM_VALID, env.encodeSwitchPoint());
+    mv.visitJumpInsn(IFNE, valid);
+    ArrayList<Var> boxes = new ArrayList<>();
+    for(Expr definition: loop.definitions) {
+      Var var = env.varMap.get(env.bindingMap.get(definition));
+      Var box = createVar(env.codeGen, Type.OBJECT, null, false, null);
+      convert(box, (var.type() == Type.VOID)? NULL: var, env);
+      boxes.add(box);
+    }
+    boxes.forEach(box -> mv.visitVarInsn(ALOAD, box.slot()));
+    int index = env.nameAndType.indexOf('(');
+    org.objectweb.asm.Type returnType = org.objectweb.asm.Type.getReturnType(env.nameAndType.substring(index));
+    mv.visitInvokeDynamicInsn(env.nameAndType.substring(0, index), osrDescriptor(loop, returnType.getDescriptor()),
+        BSM_OSR, env.linkerPlaceholder, env.nameAndType, loop.index);
+    mv.visitInsn(returnType.getOpcode(IRETURN));
+    mv.visitLabel(valid);
+    boxes.forEach(env.codeGen::release);
+  }
+  
+  // the parameters of a continuation are the boxed values of the variables in scope at the start of the loop,
+  // they are unboxed and the execution jumps to the loop
+  private static void osrEntry(While while_, OsrLoop loop, Env env) {
+    List<Var> boxes = loop.definitions.stream()
+        .map(definition -> createVar(env.codeGen, Type.OBJECT, null, false, null))
+        .collect(Collectors.toList());
+    for(int i = 0; i < boxes.size(); i++) {
+      Expr definition = loop.definitions.get(i);
+      Binding binding = env.bindingMap.get(definition);
+      Var var = createVar(env.codeGen, binding.type(), variableName(definition), false, binding);
+      if (binding.type() != Type.VOID) {
+        convert(var, boxes.get(i), env);
+      }
+      env.varMap.put(binding, var);
+    }
+    env.osrEntry = while_;
+    env.osrLabel = new Label();
+    env.codeGen.jump(env.osrLabel);
+  }
+  
   private static Var createVar(CodeGen codeGen, Type type, String name, boolean stackAllocated, Binding binding) {
     if (stackAllocated) {
       return new Var(type, name, binding);
@@ -171,6 +410,13 @@ public class Generator {
     return codeGen.createVar(type, t -> new Var(type, name, binding));
   }
   
+  // temporary variables (the ones without a name) are used once by their enclosing expression
+  private static void release(Value value, Var var, Env env) {
+    if (value != var && value instanceof Var && ((Var)value).name == null) {
+      env.codeGen.release((Var)value);
+    }
+  }
+  
   private static void convert(Var var, Value value, Env env) {
     if (var == value) {
       return;
@@ -194,17 +440,193 @@ public class Generator {
       MethodType.methodType(CallSite.class, Lookup.class, String.class, MethodType.class, Linker.class).toMethodDescriptorString());
   private static final Handle BSM_CONVERT = new Handle(H_INVOKESTATIC, RT_NAME, "bsm_convert",
       MethodType.methodType(CallSite.class, Lookup.class, String.class, MethodType.class).toMethodDescriptorString());
+  private static final Handle BSM_VALID = new Handle(H_INVOKESTATIC, RT_NAME, "bsm_valid",
+      MethodType.methodType(CallSite.class, Lookup.class, String.class, MethodType.class, SwitchPoint.class).toMethodDescriptorString());
+  private static final Handle BSM_OSR = new Handle(H_INVOKESTATIC, RT_NAME, "bsm_osr",
+      MethodType.methodType(CallSite.class, Lookup.class, String.class, MethodType.class, Linker.class, String.class, int.class).toMethodDescriptorString());
   private static final Handle BSM_OP = new Handle(H_INVOKESTATIC, RT_NAME, "bsm_op",
       MethodType.methodType(CallSite.class, Lookup.class, String.class, MethodType.class, Linker.class).toMethodDescriptorString());
   
+  private static Value[] arguments(Call call, Env env) {
+    return call.exprs().stream().map(expr -> Generator.VISITOR.call(expr, env.expectedVar(null))).toArray(Value[]::new);
+  }
+  
+  private static Value call(Call call, Value[] values, Var expectedVar, Env env) {
+    Binding binding = env.bindingMap.get(call);
+    Binding[] bindings = Arrays.stream(values).map(value -> (value instanceof Var)? ((Var)value).binding: null).toArray(Binding[]::new);
+    Var rVar = (expectedVar != null && binding.type() == expectedVar.type())? expectedVar:
+      createVar(env.codeGen, binding.type(), null, false, binding);
+    Handle bsm = call.optionalOp().map(op -> BSM_OP).orElse(BSM);
+    Object[] bsmCsts = new Object[] { env.linkerPlaceholder };
+    String deoptArgs = env.encodeDeopt(RT.DEOPT_ARGS, bindings);
+    String deoptRet = env.encodeDeopt(RT.DEOPT_RETURN, binding);
+    Integer opcode = call.optionalOp().map(INT_OPCODES::get).orElse(null);
+    if (opcode != null && isExact(opcode, values, rVar)) {
+      env.codeGen.uncheckedIntrinsic(opcode, rVar, values[0], values[1]);
+    } else if (opcode != null && isIntrinsic(opcode, values, rVar)) {
+      env.codeGen.intrinsic(opcode, bsm, bsmCsts, deoptArgs, deoptRet, EMPTY_ARRAY, rVar, call.name(), values[0], values[1]);
+    } else if (isSelfCall(call, values, rVar, env)) {
+      env.codeGen.callStatic("Fn", bsm, bsmCsts, deoptArgs, deoptRet, EMPTY_ARRAY, rVar, call.name(), values);
+    } else if (inline(call, values, rVar, env)) {
+      // the body of the function was generated in place of the call
+    } else {
+      env.codeGen.call(bsm, bsmCsts, deoptArgs, deoptRet, EMPTY_ARRAY, rVar, call.name(), values);
+    }
+    for(Value value: values) {
+      release(value, rVar, env);
+    }
+    return rVar;
+  }
+  
+  private static String descriptor(Value[] values, Var rVar) {
+    return Arrays.stream(values).map(value -> value.type().vmType()).collect(Collectors.joining("", "(", ")"))
+        + rVar.type().vmType();
+  }
+  
+  // assign the arguments to the parameters and jump to the start of the body
+  private static Value tailCall(Call call, Value[] values, Var expectedVar, Env env) {
+    List<Var> parameterVars = env.parameters.stream()
+        .map(parameter -> env.varMap.get(env.bindingMap.get(parameter)))
+        .collect(Collectors.toList());
+    Value[] args = new Value[values.length];
+    for(int i = 0; i < values.length; i++) {
+      Value value = values[i];
+      int index = parameterVars.indexOf(value);
+      if (index != -1 && index < i) {  // the parameter is assigned before being read, so copy it first
+        Var parameterVar = (Var)value;
+        Var copy = createVar(env.codeGen, (Type)parameterVar.type(), null, false, parameterVar.binding);
+        env.codeGen.move(copy, parameterVar);
+        value = copy;
+      }
+      args[i] = value;
+    }
+    for(int i = 0; i < args.length; i++) {
+      convert(parameterVars.get(i), args[i], env);
+      release(args[i], parameterVars.get(i), env);
+    }
+    env.codeGen.jump(env.bodyLabel);
+    
+    // the code that uses the result is never executed
+    Binding binding = env.bindingMap.get(call);
+    return (expectedVar != null && binding.type() == expectedVar.type())? expectedVar:
+      createVar(env.codeGen, binding.type(), null, false, binding);
+  }
+  
+  // a call to the specialization being generated,
+  // a continuation is not the specialization so it calls it through the call site
+  private static boolean isSelfCall(Call call, Value[] values, Var rVar, Env env) {
+    if (call.optionalOp().isPresent() || env.osrEntry != null) {
+      return false;
+    }
+    return (call.name() + descriptor(values, rVar)).equals(env.nameAndType);
+  }
+  
+  // generate the body of a small function instead of calling it, see Linker.inliningCandidate(),
+  // the inlined code uses the bindings of the specialization that would have been called
+  private static boolean inline(Call call, Value[] values, Var rVar, Env env) {
+    if (call.optionalOp().isPresent() || rVar.slot() == Var.STACK_ALLOCATED ||
+        Arrays.stream(values).anyMatch(value -> value.type().isMixed())) {
+      return false;
+    }
+    String desc = descriptor(values, rVar);
+    MethodType methodType = MethodType.fromMethodDescriptorString(desc, null);
+    Linker.Function function = env.linker.inliningCandidate(call.name(), methodType, env.nameAndType);
+    if (function == null) {
+      return false;
+    }
+    HashMap<Expr, Binding> bindingMap = function.bindingMap(env.linker, methodType);
+    Env inlinedEnv = env.inlined(call.name() + desc, bindingMap);
+    List<Parameter> parameters = function.fn.parameters();
+    for(int i = 0; i < values.length; i++) {
+      Parameter parameter = parameters.get(i);
+      Binding binding = bindingMap.get(parameter);
+      Var var = createVar(env.codeGen, binding.type(), parameter.name(), false, binding);
+      convert(var, values[i], inlinedEnv);
+      inlinedEnv.varMap.put(binding, var);
+    }
+    Value value = Generator.VISITOR.call(function.fn.block(), inlinedEnv.expectedVar(null));
+    if (rVar.type() != Type.VOID) {
+      convert(rVar, value, env);
+    }
+    release(value, rVar, env);
+    return true;
+  }
+  
+  // an operation on two ints is done by a bytecode instruction, see CodeGen.intrinsic()
+  private static boolean isIntrinsic(int opcode, Value[] values, Var rVar) {
+    if (values[0].type().vmType() != Type.VM_INT || values[1].type().vmType() != Type.VM_INT) {
+      return false;
+    }
+    return rVar.type().vmType() == ((opcode >= IF_ICMPEQ && opcode <= IF_ICMPLE)? Type.VM_BOOLEAN: Type.VM_INT);
+  }
+  
+  // an operation on two ints typed INT and not MIXED_INT can not overflow, see RangeAnalyzer
+  private static boolean isExact(int opcode, Value[] values, Var rVar) {
+    return (opcode == IADD || opcode == ISUB || opcode == IMUL) &&
+        values[0].type() == Type.INT && values[1].type() == Type.INT && rVar.type() == Type.INT;
+  }
+  
+  private static final EnumMap<Op, Integer> INT_OPCODES = new EnumMap<>(Op.class);
+  static {
+    INT_OPCODES.put(Op.add, IADD);
+    INT_OPCODES.put(Op.sub, ISUB);
+    INT_OPCODES.put(Op.mul, IMUL);
+    INT_OPCODES.put(Op.div, IDIV);
+    INT_OPCODES.put(Op.rem, IREM);
+    INT_OPCODES.put(Op.eq, IF_ICMPEQ);
+    INT_OPCODES.put(Op.ne, IF_ICMPNE);
+    INT_OPCODES.put(Op.lt, IF_ICMPLT);
+    INT_OPCODES.put(Op.ge, IF_ICMPGE);
+    INT_OPCODES.put(Op.gt, IF_ICMPGT);
+    INT_OPCODES.put(Op.le, IF_ICMPLE);
+  }
+  
+  // evaluate a condition and jump to the label if the condition is false,
+  // a comparison between two ints is a compare and branch
+  private static void jumpIfFalse(Expr condition, Label label, Env env) {
+    Var conditionVar = createVar(env.codeGen, Type.BOOL, null, true, null);
+    if (condition instanceof Call && env.bindingMap.get(condition).type() == Type.BOOL) {
+      Call call = (Call)condition;
+      Integer opcode = call.optionalOp().map(INT_OPCODES::get).orElse(null);
+      if (opcode != null && opcode >= IF_ICMPEQ && opcode <= IF_ICMPLE) {
+        Value[] values = arguments(call, env);
+        if (isIntrinsic(opcode, values, conditionVar)) {
+          Binding[] bindings = Arrays.stream(values).map(value -> (value instanceof Var)? ((Var)value).binding: null).toArray(Binding[]::new);
+          env.codeGen.jumpIfFalse(opcode, label, BSM_OP, new Object[] { env.linkerPlaceholder },
+              env.encodeDeopt(RT.DEOPT_ARGS, bindings),
+              env.encodeDeopt(RT.DEOPT_RETURN, env.bindingMap.get(call)),
+              EMPTY_ARRAY,
+              conditionVar, call.name(), values[0], values[1]);
+          for(Value value: values) {
+            release(value, null, env);
+          }
+          return;
+        }
+        Value value = call(call, values, conditionVar, env);
+        env.codeGen.jumpIfFalse(value, label);
+        release(value, null, env);
+        return;
+      }
+    }
+    Value value = Generator.VISITOR.call(condition, env.expectedVar(conditionVar));
+    env.codeGen.jumpIfFalse(value, label);
+    release(value, null, env);
+  }
+  
   private static final Visitor<Value, Env> VISITOR = new Visitor<Value, Env>()
       .when(Literal.class, (literal, env) -> {
         Object constant = literal.constant();
         if (constant instanceof Integer) {
           return new Constant(Type.INT, constant);
         }
+        if (constant instanceof Long) {
+          return new Constant(Type.LONG, constant);
+        }
+        if (constant instanceof Double) {
+          return new Constant(Type.NUM, constant);
+        }
         if (constant instanceof BigInteger) {
-          return new Constant(Type.OBJECT, env.encodeConst(constant));
+          return new Constant(Type.OBJECT, env.encodeConst((BigInteger)constant));
         }
         return new Constant(Type.OBJECT, constant);
       })
@@ -216,7 +638,8 @@ public class Generator {
         }
         Var expectedVar = env.expectedVar;
         for(int i = 0; i < exprs.size() - 1; i++) {
-          Generator.VISITOR.call(exprs.get(i), env.expectedVar(null));
+          Value value = Generator.VISITOR.call(exprs.get(i), env.expectedVar(null));
+          release(value, null, env);
         }
         return Generator.VISITOR.call(exprs.get(exprs.size() - 1), env.expectedVar(expectedVar));
       })
@@ -236,54 +659,35 @@ public class Generator {
         return value;
       })
       .when(Call.class, (call, env) -> {
-        Binding binding = env.bindingMap.get(call);
         Var expectedVar = env.expectedVar;
-        Value[] values = call.exprs().stream().map(expr -> Generator.VISITOR.call(expr, env.expectedVar(null))).toArray(Value[]::new);
-        Binding[] bindings = Arrays.stream(values).map(value -> (value instanceof Var)? ((Var)value).binding: null).toArray(Binding[]::new);
-        Var rVar = (expectedVar != null && binding.type() == expectedVar.type())? expectedVar:
-          createVar(env.codeGen, binding.type(), null, false, binding);
-        Handle bsm = call.optionalOp().map(op -> BSM_OP).orElse(BSM);
-        
-        // <HACK> make call to fibo explicit
-        /*if ((call.name() + "(I)I").equals(env.nameAndType)) {
-          env.codeGen.methodVisitor().visitVarInsn(ILOAD, 1 + ((Var)values[0]).slot());
-          env.codeGen.methodVisitor().visitMethodInsn(INVOKESTATIC, "Fn", call.name(), "(I)I", false);
-          env.codeGen.methodVisitor().visitVarInsn(ISTORE, 1 + rVar.slot());
-          env.codeGen.methodVisitor().visitFieldInsn(GETSTATIC, "com/github/forax/vmboiler/rt/RT", "NONE", "Ljava/lang/Object;");
-          env.codeGen.methodVisitor().visitVarInsn(ASTORE, rVar.slot());
-          return rVar;
-        }*/
-        // </HACK>
-        
-        env.codeGen.call(bsm, new Object[] { env.linkerPlaceholder },
-            env.encodeDeopt(RT.DEOPT_ARGS, bindings),
-            env.encodeDeopt(RT.DEOPT_RETURN, binding),
-            EMPTY_ARRAY,
-            rVar, call.name(), values);
-        return rVar;
+        Value[] values = arguments(call, env);
+        if (env.tailCalls.contains(call)) {
+          return tailCall(call, values, expectedVar, env);
+        }
+        return call(call, values, expectedVar, env);
       })
       .when(If.class, (if_, env) -> {
         Binding binding = env.bindingMap.get(if_);
-        Var conditionVar = createVar(env.codeGen, Type.BOOL, null, true, null);
-        Value value = Generator.VISITOR.call(if_.condition(), env.expectedVar(conditionVar));
+        Var expectedVar = env.expectedVar;
         Label label = new Label();
         Label end = new Label();
         Type type = binding.type();
-        Var expectedVar = env.expectedVar;
         Var rVar = (type == Type.VOID)? null:  // no join (phi) if type is void 
             (expectedVar != null && expectedVar.type() == type)? expectedVar:
               createVar(env.codeGen, type, null, false, binding);
-        env.codeGen.jumpIfFalse(value, label);
+        jumpIfFalse(if_.condition(), label, env);
         Value value1 = Generator.VISITOR.call(if_.truePart(), env.expectedVar(rVar));
         if (rVar != null) {
           convert(rVar, value1, env);
         }
+        release(value1, rVar, env);
         env.codeGen.jump(end);
         env.codeGen.label(label);
         Value value2 = Generator.VISITOR.call(if_.falsePart(), env.expectedVar(rVar));
         if (rVar != null) {
           convert(rVar, value2, env);
         }
+        release(value2, rVar, env);
         env.codeGen.label(end);
         return (rVar != null)? rVar: NULL;
       })
@@ -291,10 +695,16 @@ public class Generator {
         Label end = new Label();
         Label test = new Label();
         env.codeGen.label(test);
-        Var conditionVar = createVar(env.codeGen, Type.BOOL, null, true, null);
-        Value result = Generator.VISITOR.call(while_.condition(), env.expectedVar(conditionVar));
-        env.codeGen.jumpIfFalse(result, end);
-        Generator.VISITOR.call(while_.body(), env.expectedVar(null));
+        if (while_ == env.osrEntry) {
+          env.codeGen.label(env.osrLabel);
+        }
+        jumpIfFalse(while_.condition(), end, env);
+        Value value = Generator.VISITOR.call(while_.body(), env.expectedVar(null));
+        release(value, null, env);
+        OsrLoop osrLoop = env.osrLoops.get(while_);
+        if (osrLoop != null) {
+          osrExit(osrLoop, env);
+        }
         env.codeGen.jump(test);
         env.codeGen.label(end);
         return NULL;
@@ -0,0 +1,319 @@
+package com.github.forax.vmboiler.sample.script;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.github.forax.vmboiler.rt.OptimisticError;
+import com.github.forax.vmboiler.sample.script.Expr.*;
+import com.github.forax.vmboiler.sample.script.Generator.OsrLoop;
+
+/**
+ * A tree walking interpreter used as first tier before generating bytecodes.
+ *
+ * The interpreter records the type of the values it sees in the bindings computed
+ * by the {@link TypeInferer} so the first generated code uses the real types.
+ * A function is promoted to the {@link Generator} tier once the number of invocations
+ * or the number of loop iterations crosses a threshold. A running loop that is not part of
+ * an expression continues in a code generated from the start of the loop
+ * (see {@link Linker#continuation(String, int)}), a running self tail call continues
+ * with a call to the generated code.
+ */
+public class Interpreter {
+  // tier 0 is disabled by default
+  static final boolean ENABLED = Boolean.getBoolean("script.interpreter");
+  private static final int INVOCATION_THRESHOLD = Integer.getInteger("script.invocationThreshold", 1_000);
+  private static final int BACK_EDGE_THRESHOLD = Integer.getInteger("script.backEdgeThreshold", 10_000);
+
+  static class Env {
+    final HashMap<Binding, Object> valueMap = new HashMap<>();
+    final Interpreter interpreter;
+
+    Env(Interpreter interpreter) {
+      this.interpreter = interpreter;
+    }
+  }
+
+  // the value of a self tail call, the body of the function is interpreted again with the arguments
+  private static final class TailCall {
+    final Object[] args;
+    
+    TailCall(Object[] args) {
+      this.args = args;
+    }
+  }
+  
+  // the value of the function computed by the generated code once the function is promoted,
+  // the rest of the function is not interpreted
+  private static final class Continued {
+    final Object value;
+    
+    Continued(Object value) {
+      this.value = value;
+    }
+  }
+  
+  private final Fn fn;
+  private final Set<Call> tailCalls;
+  private final Map<While, OsrLoop> osrLoops;
+  private final Linker linker;
+  private final HashMap<Expr, Binding> bindingMap;
+  private final Runnable bindingChanged;
+  private MethodType methodType;
+  private Runnable promotion;
+
+  // the counters are updated without synchronization, they are just a hint
+  private int invocationCount;
+  private int backEdgeCount;
+  private boolean promoted;
+
+  /**
+   * Create an interpreter for a specialization of a function.
+   * @param fn the function.
+   * @param linker the linker used to call other functions.
+   * @param bindingMap the bindings of the specialization.
+   * @param bindingChanged called when the type of a binding is widened.
+   */
+  Interpreter(Fn fn, Linker linker, HashMap<Expr, Binding> bindingMap, Runnable bindingChanged) {
+    this.fn = fn;
+    this.tailCalls = TypeInferer.selfTailCalls(fn);
+    this.osrLoops = Generator.osrLoops(fn);
+    this.linker = linker;
+    this.bindingMap = bindingMap;
+    this.bindingChanged = bindingChanged;
+  }
+
+  /**
+   * Returns a method handle that interprets the function.
+   * @param methodType the type of the returned method handle.
+   * @param promotion called once when the function should be compiled.
+   * @return a method handle that interprets the function.
+   */
+  MethodHandle target(MethodType methodType, Runnable promotion) {
+    this.methodType = methodType;
+    this.promotion = promotion;
+    MethodHandle target = INTERPRET.bindTo(this)
+        .asCollector(Object[].class, methodType.parameterCount())
+        .asType(methodType.changeReturnType(Object.class));
+    return RT.convertReturnValue(target, methodType.returnType());
+  }
+
+  @SuppressWarnings("unused") // called by a method handle
+  private Object interpret(Object[] args) {
+    if (++invocationCount >= INVOCATION_THRESHOLD) {
+      promote();
+    }
+    List<Parameter> parameters = fn.parameters();
+    Object[] arguments = args;
+    for(;;) {
+      Env env = new Env(this);
+      for(int i = 0; i < arguments.length; i++) {
+        env.valueMap.put(bindingMap.get(parameters.get(i)), arguments[i]);
+      }
+      Object value = VISITOR.call(fn.block(), env);
+      if (value instanceof Continued) {
+        return ((Continued)value).value;
+      }
+      if (!(value instanceof TailCall)) {
+        return value;
+      }
+      arguments = ((TailCall)value).args;
+      backEdge();
+      if (promoted) {
+        return call(fn.name(), methodType.returnType(), arguments);
+      }
+    }
+  }
+
+  private void backEdge() {
+    if (++backEdgeCount >= BACK_EDGE_THRESHOLD) {
+      promote();
+    }
+  }
+
+  private void promote() {
+    if (!promoted) {
+      promoted = true;
+      promotion.run();
+    }
+  }
+  
+  // continue the execution of a loop in a code generated from the start of the loop
+  private Continued continueLoop(OsrLoop loop, Env env) {
+    Object[] args = loop.definitions.stream().map(definition -> env.valueMap.get(bindingMap.get(definition))).toArray();
+    String nameAndType = fn.name() + methodType.toMethodDescriptorString();
+    return new Continued(optimisticInvoke(linker.continuation(nameAndType, loop.index), args));
+  }
+
+  private void record(Binding binding, Object value) {
+    if (binding.type() == Type.VOID) {  // the value is not used
+      return;
+    }
+    if (binding.widen(Type.getTypeFromValue(value))) {
+      bindingChanged.run();
+    }
+  }
+
+  // call with the same return type as the generated code so the specializations are shared
+  private Object call(String name, Type returnType, Object[] args) {
+    return call(name, Type.getClassFromType(returnType.erase()), args);
+  }
+  
+  private Object call(String name, Class<?> returnType, Object[] args) {
+    MethodType methodType = MethodType.methodType(returnType,
+        Arrays.stream(args).map(Interpreter::parameterType).toArray(Class<?>[]::new));
+    return optimisticInvoke(linker.getCallSite(name, methodType).dynamicInvoker(), args);
+  }
+
+  private static Class<?> parameterType(Object arg) {
+    if (arg instanceof Integer) {
+      return int.class;
+    }
+    if (arg instanceof Long) {
+      return long.class;
+    }
+    if (arg instanceof Double) {
+      return double.class;
+    }
+    return Object.class;
+  }
+
+  private static Object op(Op op, Object left, Object right) {
+    MethodHandle[] mhs = RT.Ops.OP_MAP.get(op.name());
+    if (mhs == null) {
+      throw new UnsupportedOperationException(op.name());
+    }
+    if (left instanceof Integer && right instanceof Integer) {
+      return optimisticInvoke(mhs[RT.Ops.INT_OP], left, right);
+    }
+    Class<?> leftType = parameterType(left);
+    Class<?> rightType = parameterType(right);
+    if (leftType == Object.class || rightType == Object.class) {
+      return invoke(mhs[RT.Ops.OBJECT_OP], left, right);
+    }
+    if (leftType == double.class || rightType == double.class) {
+      return invoke(mhs[RT.Ops.DOUBLE_OP], ((Number)left).doubleValue(), ((Number)right).doubleValue());
+    }
+    return optimisticInvoke(mhs[RT.Ops.LONG_OP], ((Number)left).longValue(), ((Number)right).longValue());
+  }
+
+  // get the return value even if it doesn't fit in the return type
+  private static Object optimisticInvoke(MethodHandle mh, Object... args) {
+    Object result;
+    try {
+      result = invoke(mh, args);
+    } catch(OptimisticError e) {
+      return e.value();
+    }
+    if (RT.CARRIER_RETURN && isSentinel(result)) {
+      Object carried = com.github.forax.vmboiler.rt.RT.takeCarried();
+      if (carried != com.github.forax.vmboiler.rt.RT.NONE) {
+        return carried;
+      }
+    }
+    return result;
+  }
+
+  private static boolean isSentinel(Object result) {
+    if (result instanceof Integer) {
+      return (Integer)result == com.github.forax.vmboiler.rt.RT.INT_SENTINEL;
+    }
+    if (result instanceof Long) {
+      return (Long)result == com.github.forax.vmboiler.rt.RT.LONG_SENTINEL;
+    }
+    if (result instanceof Double) {
+      return Double.doubleToRawLongBits((Double)result) == com.github.forax.vmboiler.rt.RT.DOUBLE_SENTINEL_BITS;
+    }
+    return false;
+  }
+
+  private static Object invoke(MethodHandle mh, Object... args) {
+    try {
+      return mh.invokeWithArguments(args);
+    } catch(RuntimeException | Error e) {
+      throw e;
+    } catch(Throwable e) {
+      throw new UndeclaredThrowableException(e);
+    }
+  }
+
+  private static final MethodHandle INTERPRET;
+  static {
+    try {
+      INTERPRET = MethodHandles.lookup().findVirtual(Interpreter.class, "interpret",
+          MethodType.methodType(Object.class, Object[].class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static final Visitor<Object, Env> VISITOR = new Visitor<Object, Env>()
+      .when(Literal.class, (literal, env) -> literal.constant())
+      .when(Block.class, (block, env) -> {
+        Object value = null;
+        for(Expr expr: block.exprs()) {
+          value = Interpreter.VISITOR.call(expr, env);
+          if (value instanceof Continued) {
+            return value;
+          }
+        }
+        return value;
+      })
+      .when(VarAccess.class, (varAccess, env) -> {
+        return env.valueMap.get(env.interpreter.bindingMap.get(varAccess));
+      })
+      .when(VarAssignment.class, (varAssignment, env) -> {
+        Binding binding = env.interpreter.bindingMap.get(varAssignment);
+        Object value = Interpreter.VISITOR.call(varAssignment.expr(), env);
+        env.interpreter.record(binding, value);
+        env.valueMap.put(binding, value);
+        return value;
+      })
+      .when(Call.class, (call, env) -> {
+        Binding binding = env.interpreter.bindingMap.get(call);
+        Object[] args = call.exprs().stream().map(expr -> Interpreter.VISITOR.call(expr, env)).toArray();
+        if (env.interpreter.tailCalls.contains(call)) {
+          return new TailCall(args);
+        }
+        Object value = call.optionalOp()
+            .map(op -> op(op, args[0], args[1]))
+            .orElseGet(() -> env.interpreter.call(call.name(), binding.type(), args));
+        env.interpreter.record(binding, value);
+        return value;
+      })
+      .when(If.class, (if_, env) -> {
+        Binding binding = env.interpreter.bindingMap.get(if_);
+        boolean condition = (Boolean)Interpreter.VISITOR.call(if_.condition(), env);
+        Object value = Interpreter.VISITOR.call(condition? if_.truePart(): if_.falsePart(), env);
+        if (value instanceof TailCall || value instanceof Continued) {
+          return value;
+        }
+        if (binding.type() == Type.VOID) {
+          return null;
+        }
+        env.interpreter.record(binding, value);
+        return value;
+      })
+      .when(While.class, (while_, env) -> {
+        Interpreter interpreter = env.interpreter;
+        OsrLoop loop = interpreter.osrLoops.get(while_);
+        while((Boolean)Interpreter.VISITOR.call(while_.condition(), env)) {
+          Object value = Interpreter.VISITOR.call(while_.body(), env);
+          if (value instanceof Continued) {
+            return value;
+          }
+          interpreter.backEdge();
+          if (interpreter.promoted && loop != null) {
+            return interpreter.continueLoop(loop, env);
+          }
+        }
+        return null;
+      })
+      ;
+}
@@ -5,61 +5,318 @@ import java.lang.invoke.CallSite;
 import java.lang.invoke.ConstantCallSite;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.invoke.MethodType;
 import java.lang.invoke.MutableCallSite;
+import java.lang.invoke.SwitchPoint;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import com.github.forax.vmboiler.sample.script.Expr.Call;
+import com.github.forax.vmboiler.sample.script.Expr.While;
+
 public class Linker {
   static class Function {
     final Fn fn;
-    private final HashMap<List<Class<?>>, HashMap<Expr, Binding>> bindingMapMap = new HashMap<>();
-    final HashMap<MethodType, InvalidableCallSite> callSiteMap = new HashMap<>();
+    // the specializations are created at most once even if several threads link the same function
+    private final ConcurrentHashMap<List<Class<?>>, HashMap<Expr, Binding>> bindingMapMap = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<MethodType, InvalidableCallSite> callSiteMap = new ConcurrentHashMap<>();
+    final AtomicInteger invalidationCount = new AtomicInteger();
+    // the callers (name and descriptor) that have inlined a specialization, see Generator
+    private final ConcurrentHashMap<List<Class<?>>, Set<String>> inliningCallerMap = new ConcurrentHashMap<>();
     
     Function(Fn fn) {
       this.fn = fn;
     }
     
+    HashMap<Expr, Binding> bindingMap(Linker linker, MethodType methodType) {
+      return bindingMapMap.computeIfAbsent(methodType.parameterList(), key -> {
+        Type returnType = Type.getTypeFromClass(methodType.returnType());
+        Type[] parameterTypes = methodType.parameterList().stream().map(Type::getTypeFromClass).toArray(Type[]::new);
+        HashMap<Expr, Binding> newBindingMap = new HashMap<>();
+        TypeInferer.inferType(fn, returnType, parameterTypes, newBindingMap);
+        if (linker.profile != null) {
+          linker.profile.apply(fn, key, newBindingMap);
+        }
+        return newBindingMap;
+      });
+    }
+    
+    // a small function without loop that only calls operations
+    boolean isInlineable() {
+      List<Expr> exprs = Profile.exprs(fn);
+      return exprs.size() <= INLINING_SIZE &&
+          exprs.stream().noneMatch(expr -> expr instanceof While || (expr instanceof Call && !((Call)expr).optionalOp().isPresent()));
+    }
+    
+    void inlined(MethodType methodType, String callerNameAndType) {
+      inliningCallerMap.computeIfAbsent(methodType.parameterList(), key -> ConcurrentHashMap.newKeySet()).add(callerNameAndType);
+    }
+    
+    // the code of the callers depends on the bindings of the specialization,
+    // the callers will register themselves again when they are regenerated
+    private void invalidateInliningCallers(Linker linker, List<Class<?>> parameterTypes) {
+      Set<String> callers = inliningCallerMap.remove(parameterTypes);
+      if (callers != null) {
+        callers.forEach(linker::invalidate);
+      }
+    }
+    
     CallSite createCallSite(Linker linker, String name, MethodType methodType) {
       return callSiteMap.computeIfAbsent(methodType, key -> {
         Type returnType = Type.getTypeFromClass(methodType.returnType());
         Type[] parameterTypes = methodType.parameterList().stream().map(Type::getTypeFromClass).toArray(Type[]::new);
-        HashMap<Expr, Binding> bindingMap = bindingMapMap.computeIfAbsent(methodType.parameterList(), key2 -> {
-          HashMap<Expr, Binding> newBindingMap = new HashMap<>();
-          TypeInferer.inferType(fn, returnType, parameterTypes, newBindingMap);
-          return newBindingMap;
-        });
-        return new InvalidableCallSite(methodType, () ->
-            Generator.generate(fn, linker, bindingMap, returnType.mix(true) /*FIXME ?*/, name, parameterTypes));
+        HashMap<Expr, Binding> bindingMap = bindingMap(linker, methodType);
+        BiFunction<SwitchPoint, Integer, MethodHandle> generator = (switchPoint, osrLoop) ->
+            Generator.generate(fn, linker, bindingMap, returnType.mix(true) /*FIXME ?*/, name, parameterTypes, switchPoint, osrLoop);
+        if (!Interpreter.ENABLED) {
+          return new InvalidableCallSite(methodType, linker, generator, null);
+        }
+        // the specializations with the same parameter types share the same bindings
+        Interpreter interpreter = new Interpreter(fn, linker, bindingMap,
+            () -> invalidateAll(linker, methodType.parameterList()));
+        return new InvalidableCallSite(methodType, linker, generator, interpreter);
+      });
+    }
+    
+    private void invalidateAll(Linker linker, List<Class<?>> parameterTypes) {
+      invalidateInliningCallers(linker, parameterTypes);
+      callSiteMap.forEach((methodType, callSite) -> {
+        if (methodType.parameterList().equals(parameterTypes) && !callSite.pinned) {
+          callSite.invalidate();
+        }
+      });
+    }
+    
+    void invalidate(Linker linker, String name, MethodType methodType) {
+      invalidationCount.incrementAndGet();
+      invalidateInliningCallers(linker, methodType.parameterList());
+      InvalidableCallSite callSite = callSiteMap.get(methodType);
+      if (callSite == null) {
+        return;  // the specialization is only inlined
+      }
+      if (callSite.pinned) {
+        return;  // never regenerated, the deoptimization paths are still valid
+      }
+      if (callSite.invalidationCount.incrementAndGet() < MAX_INVALIDATIONS) {
+        callSite.invalidate();
+        return;
+      }
+      
+      // too many invalidations, all the bindings are widened to OBJECT so the code is generated
+      // one last time and doesn't depend on the types of the values anymore,
+      // the pinned specializations are reported by the statistics (see script.deoptStats)
+      callSite.pinned = true;
+      for(Binding binding: bindingMapMap.get(methodType.parameterList()).values()) {
+        Type type = binding.type();
+        if (type != Type.VOID && type != Type.BOOL) {
+          binding.widen(Type.OBJECT);
+        }
+      }
+      // the other specializations share the same bindings
+      callSiteMap.forEach((otherMethodType, otherCallSite) -> {
+        if (otherMethodType.parameterList().equals(methodType.parameterList())) {
+          otherCallSite.invalidate();
+        }
       });
     }
   }
   
+  // number of invalidations of a specialization before its code is pinned to a generic version
+  private static final int MAX_INVALIDATIONS = Integer.getInteger("script.maxInvalidations", 8);
+  // maximum number of expressions of a function inlined by the Generator, 0 means no inlining
+  private static final int INLINING_SIZE = Integer.getInteger("script.inliningSize", 10);
+  // print the invalidation counters at the end of the run
+  private static final boolean DEOPT_STATS = Boolean.getBoolean("script.deoptStats");
+  
+  // number of threads used to recompile the invalidated call sites in the background,
+  // 0 means that the code is recompiled by the thread that calls the invalidated call site.
+  // The queue of the executor is not bounded, the number of pending recompilations is
+  // only limited by the fact that a call site has at most one pending recompilation
+  private static final int COMPILER_THREADS = Integer.getInteger("script.compilerThreads", 0);
+  private static final ExecutorService COMPILER = (COMPILER_THREADS == 0)? null:
+    Executors.newFixedThreadPool(COMPILER_THREADS, runnable -> {
+      Thread thread = new Thread(runnable, "script-compiler");
+      thread.setDaemon(true);
+      return thread;
+    });
+  
   static class InvalidableCallSite extends MutableCallSite {
-    private final Supplier<MethodHandle> supplier;
+    private final Linker linker;
+    private final BiFunction<SwitchPoint, Integer, MethodHandle> generator;
+    // guard the direct calls of the generated code to itself and its loops, see Generator,
+    // null if the call site was evicted
+    private volatile SwitchPoint switchPoint;
+    // the continuations of the loops of the invalidated code, generated with the current switch point
+    private final ConcurrentHashMap<Integer, MethodHandle> continuationMap = new ConcurrentHashMap<>();
+    private SwitchPoint continuationSwitchPoint;
     private final MethodHandle fallback;
+    private final MethodHandle interpreter;
+    private final AtomicBoolean recompilationPending = new AtomicBoolean();
+    final AtomicInteger invalidationCount = new AtomicInteger();
+    volatile boolean pinned;
     
-    InvalidableCallSite(MethodType methodType, Supplier<MethodHandle> supplier) {
+    InvalidableCallSite(MethodType methodType, Linker linker, BiFunction<SwitchPoint, Integer, MethodHandle> generator, Interpreter interpreter) {
       super(methodType);
-      this.supplier = supplier;
-      MethodHandle fallback = MethodHandles.foldArguments(
+      this.linker = linker;
+      this.generator = generator;
+      this.fallback = MethodHandles.foldArguments(
           MethodHandles.exactInvoker(methodType), FALLBACK.bindTo(this));
-      this.setTarget(supplier.get());
-      this.fallback = fallback;
+      if (interpreter == null) {
+        this.interpreter = null;
+        setTarget(generate());
+      } else {
+        this.interpreter = interpreter.target(methodType, this::promote);
+        setTarget(this.interpreter);
+      }
+    }
+    
+    private MethodHandle generate() {
+      return generate(true);
+    }
+    
+    // if counted, the code is registered to the linker and may evict other codes, see Linker.used()
+    private synchronized MethodHandle generate(boolean counted) {
+      switchPoint = new SwitchPoint();
+      MethodHandle target = generator.apply(switchPoint, -1);
+      if (counted) {
+        linker.used(this);
+      }
+      return target;
+    }
+    
+    // the direct calls of the old code to itself now go through the call site,
+    // so it must be called after the target of the call site has changed
+    private static void invalidateDirectCalls(SwitchPoint switchPoint) {
+      if (switchPoint != null) {
+        SwitchPoint.invalidateAll(new SwitchPoint[] { switchPoint });
+      }
+    }
+    
+    // switch from the interpreter to the generated code
+    private void promote() {
+      synchronized(this) {
+        if (getTarget() == interpreter) {
+          setTarget(generate());
+          syncAll(new MutableCallSite[] { this });
+        }
+      }
+      linker.evictPending();
     }
     
+    // the code generation and the invalidation are synchronized so there is at most one compilation
+    // of a specialization at a time and an invalidation is never overridden by a stale compilation
+    
     @SuppressWarnings("unused")  // called by a method handle
     private MethodHandle fallback() {
-      MethodHandle target = supplier.get();
-      setTarget(target);
+      MethodHandle target;
+      synchronized(this) {
+        target = getTarget();
+        if (target == fallback) {  // not already regenerated by another thread
+          target = generate();
+          setTarget(target);
+        }
+      }
+      linker.evictPending();
       return target;
     }
     
+    // the code that continues a loop of an invalidated code (on-stack replacement),
+    // if the call site was not regenerated yet, it's regenerated first so the continuation
+    // uses the new bindings and is invalidated with the new code.
+    // The code of an evicted call site is regenerated without being counted,
+    // otherwise two running loops could evict each other at each iteration,
+    // it's counted again the next time it's regenerated
+    synchronized MethodHandle continuation(int osrLoop) {
+      SwitchPoint switchPoint = this.switchPoint;
+      if (switchPoint == null || switchPoint.hasBeenInvalidated()) {
+        setTarget(generate(switchPoint != null));
+        switchPoint = this.switchPoint;
+      }
+      if (continuationSwitchPoint != switchPoint) {
+        continuationMap.clear();
+        continuationSwitchPoint = switchPoint;
+      }
+      SwitchPoint current = switchPoint;
+      return continuationMap.computeIfAbsent(osrLoop, key -> generator.apply(current, key));
+    }
+    
     void invalidate() {
+      if (interpreter != null && getTarget() == interpreter) {
+        return;  // no code to invalidate
+      }
+      if (COMPILER == null) {
+        synchronized(this) {
+          setTarget(fallback);
+          invalidateDirectCalls(switchPoint);
+        }
+        return;
+      }
+      
+      // keep the old target, its deoptimization paths are still valid,
+      // and ask for a recompilation if there is no one pending
+      if (recompilationPending.compareAndSet(false, true)) {
+        COMPILER.execute(this::recompile);
+      }
+    }
+    
+    // reset the call site to its fallback so the code is regenerated if the specialization
+    // is called again, the switch point is invalidated so an execution of the evicted code
+    // leaves it at its next direct call (or at its next loop iteration if the on-stack replacement
+    // is enabled) and the class of the evicted code can be unloaded.
+    // Returns false if the call site was already evicted or was generated again since it was
+    // chosen to be evicted, see Linker.used()
+    synchronized boolean evict() {
+      if (switchPoint == null || linker.isUsed(this)) {
+        return false;
+      }
       setTarget(fallback);
+      syncAll(new MutableCallSite[] { this });
+      invalidateDirectCalls(switchPoint);
+      switchPoint = null;
+      continuationMap.clear();
+      return true;
+    }
+    
+    // if the generation fails, the fallback is installed so the thread that calls the call site
+    // regenerates the code and gets the error instead of the error being lost in the executor
+    private void recompile() {
+      synchronized(this) {
+        // an invalidation that occurs during the generation will schedule a new recompilation
+        recompilationPending.set(false);
+        SwitchPoint oldSwitchPoint = switchPoint;
+        MethodHandle target;
+        try {
+          target = generate();
+        } catch(Throwable t) {
+          System.err.println("script-compiler: recompilation of " + type() + " failed");
+          t.printStackTrace();
+          target = fallback;
+        }
+        setTarget(target);
+        syncAll(new MutableCallSite[] { this });
+        invalidateDirectCalls(oldSwitchPoint);
+      }
+      linker.evictPending();
     }
     
     private static final MethodHandle FALLBACK;
@@ -73,10 +330,252 @@ public class Linker {
     }
   }
   
-  private final Map<String, Function> functionMap;
+  // the call site of a specialization compiled ahead of time, see Aot,
+  // the switch point guards the direct calls of the precompiled code to itself
+  static final class PrecompiledCallSite extends MutableCallSite {
+    final SwitchPoint switchPoint;
+    
+    PrecompiledCallSite(MethodHandle target, SwitchPoint switchPoint) {
+      super(target);
+      this.switchPoint = switchPoint;
+    }
+  }
+  
+  // maximum number of entries of a polymorphic inline cache, 0 means no cache
+  private static final int PIC_SIZE = Integer.getInteger("script.picSize", 4);
+  
+  // a polymorphic inline cache in front of a specialization that takes Objects,
+  // each entry checks the classes of the arguments typed Object and calls the specialization
+  // that takes the corresponding primitive types, when the cache is full, the call site
+  // calls the generic specialization (megamorphic)
+  static class PolymorphicCallSite extends MutableCallSite {
+    private final Linker linker;
+    private final String name;
+    private final MethodHandle generic;
+    private final MethodHandle fallback;
+    private int size;
+    
+    PolymorphicCallSite(Linker linker, String name, CallSite callSite) {
+      super(callSite.type());
+      this.linker = linker;
+      this.name = name;
+      this.generic = callSite.dynamicInvoker();
+      MethodType methodType = type();
+      MethodHandle combiner = FALLBACK.bindTo(this)
+          .asCollector(Object[].class, methodType.parameterCount())
+          .asType(methodType.changeReturnType(MethodHandle.class));
+      this.fallback = MethodHandles.foldArguments(MethodHandles.exactInvoker(methodType), combiner);
+      setTarget(fallback);
+    }
+    
+    @SuppressWarnings("unused")  // called by a method handle
+    private synchronized MethodHandle fallback(Object[] args) {
+      if (size == PIC_SIZE) {
+        setTarget(generic);
+        return generic;
+      }
+      MethodType methodType = type();
+      MethodType specificType = methodType;
+      for(int i = 0; i < args.length; i++) {
+        if (methodType.parameterType(i) == Object.class) {
+          specificType = specificType.changeParameterType(i, primitiveType(args[i]));
+        }
+      }
+      MethodHandle target = specificType.equals(methodType)? generic:
+        linker.getCallSite(name, specificType).dynamicInvoker().asType(methodType);
+      
+      // the tests are done before the older entries
+      MethodHandle entry = target;
+      for(int i = 0; i < args.length; i++) {
+        if (methodType.parameterType(i) == Object.class) {
+          MethodHandle test = MethodHandles.insertArguments(HAS_CLASS, 0, (args[i] == null)? null: args[i].getClass());
+          test = MethodHandles.dropArguments(test, 0, methodType.parameterList().subList(0, i));
+          test = MethodHandles.dropArguments(test, i + 1, methodType.parameterList().subList(i + 1, args.length));
+          entry = MethodHandles.guardWithTest(test, entry, getTarget());
+        }
+      }
+      size++;
+      setTarget(entry);
+      return target;
+    }
+    
+    private static Class<?> primitiveType(Object arg) {
+      if (arg instanceof Integer) {
+        return int.class;
+      }
+      if (arg instanceof Long) {
+        return long.class;
+      }
+      if (arg instanceof Double) {
+        return double.class;
+      }
+      return Object.class;
+    }
+    
+    @SuppressWarnings("unused")  // called by a method handle
+    private static boolean hasClass(Class<?> clazz, Object arg) {
+      return (arg == null)? clazz == null: arg.getClass() == clazz;
+    }
+    
+    private static final MethodHandle FALLBACK, HAS_CLASS;
+    static {
+      Lookup lookup = MethodHandles.lookup();
+      try {
+        FALLBACK = lookup.findVirtual(PolymorphicCallSite.class, "fallback",
+            MethodType.methodType(MethodHandle.class, Object[].class));
+        HAS_CLASS = lookup.findStatic(PolymorphicCallSite.class, "hasClass",
+            MethodType.methodType(boolean.class, Class.class, Object.class));
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        throw new AssertionError(e);
+      }
+    }
+  }
+  
+  // maximum number of specializations with a generated code, when the limit is reached
+  // the least recently generated one is evicted, 0 means no limit.
+  // With the on-stack replacement, the codes regenerated to continue the running loops
+  // of evicted codes are not counted, see InvalidableCallSite.continuation()
+  private static final int MAX_CODES = Integer.getInteger("script.maxCodes", 1_000);
+  
+  // file used to save the types of the bindings at the end of a run and reload them at the start of the next one
+  private static final String PROFILE = System.getProperty("script.profile");
+  
+  private final Supplier<Script> scriptSupplier;
+  private Map<String, Function> functionMap;  // lazily initialized
+  private final Profile profile;
+  
+  // the specializations compiled ahead of time that were not deoptimized yet, see Aot
+  private final ConcurrentHashMap<String, PrecompiledCallSite> precompiledMap = new ConcurrentHashMap<>();
+  // the last generated code of each specialization if the specializations are saved, see Aot
+  private final ConcurrentHashMap<String, Aot.Unit> unitMap = Aot.OUTPUT == null? null: new ConcurrentHashMap<>();
+  
+  // the call sites with a generated code, the least recently generated first
+  private final LinkedHashMap<InvalidableCallSite, Boolean> codeMap = new LinkedHashMap<>(16, 0.75f, true);
+  // the call sites removed from the codeMap but not yet evicted, see evictPending()
+  private final ConcurrentLinkedQueue<InvalidableCallSite> evictionQueue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger evictionCount = new AtomicInteger();
   
   public Linker(Script script) {
-    functionMap = script.funs().stream().collect(Collectors.toMap(Fn::name, Function::new));
+    this(() -> script);
+  }
+  
+  /**
+   * Creates a linker that only parses the script if a function has no specialization
+   * compiled ahead of time.
+   * @param scriptSupplier a function that parses the script.
+   */
+  Linker(Supplier<Script> scriptSupplier) {
+    this.scriptSupplier = scriptSupplier;
+    profile = (PROFILE == null)? null: loadProfile(Paths.get(PROFILE));
+    if (DEOPT_STATS) {
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> statistics().forEach(System.err::println)));
+    }
+  }
+  
+  private synchronized Map<String, Function> functionMap() {
+    if (functionMap == null) {
+      functionMap = scriptSupplier.get().funs().stream().collect(Collectors.toMap(Fn::name, Function::new));
+    }
+    return functionMap;
+  }
+  
+  private Profile loadProfile(Path path) {
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> saveProfile(path)));
+    return Profile.load(path, scriptSupplier.get());
+  }
+  
+  private void saveProfile(Path path) {
+    for(Function function: functionMap().values()) {
+      function.bindingMapMap.forEach((parameterTypes, bindingMap) ->
+          profile.record(function.fn, parameterTypes, bindingMap));
+    }
+    profile.save(path);
+  }
+  
+  // called each time the code of a call site is generated, with the lock of the call site held,
+  // so the least recently generated call sites are only queued, see evictPending()
+  void used(InvalidableCallSite callSite) {
+    if (MAX_CODES == 0) {
+      return;
+    }
+    synchronized(codeMap) {
+      codeMap.put(callSite, true);
+      Iterator<InvalidableCallSite> it = codeMap.keySet().iterator();
+      while(codeMap.size() > MAX_CODES) {
+        InvalidableCallSite eldest = it.next();
+        it.remove();
+        evictionQueue.add(eldest);
+      }
+    }
+  }
+  
+  boolean isUsed(InvalidableCallSite callSite) {
+    synchronized(codeMap) {
+      return codeMap.containsKey(callSite);
+    }
+  }
+  
+  // evict the queued call sites, an eviction takes the lock of the evicted call site
+  // so it must be called when the current thread doesn't hold the lock of another call site,
+  // otherwise two threads generating two call sites that evict each other may deadlock
+  void evictPending() {
+    InvalidableCallSite callSite;
+    while((callSite = evictionQueue.poll()) != null) {
+      if (callSite.evict()) {
+        evictionCount.incrementAndGet();
+      }
+    }
+  }
+  
+  // called by the Generator each time a specialization is generated
+  void compiled(String name, String desc, byte[] bytecode, String[] descriptions) {
+    if (unitMap != null) {
+      unitMap.put(name + desc, new Aot.Unit(name, desc, bytecode, descriptions));
+    }
+  }
+  
+  Map<String, Aot.Unit> units() {
+    return unitMap;
+  }
+  
+  void precompiled(String nameAndType, MethodHandle target, SwitchPoint switchPoint) {
+    precompiledMap.put(nameAndType, new PrecompiledCallSite(target, switchPoint));
+  }
+  
+  /**
+   * Called by the deoptimization paths of a specialization compiled ahead of time, see {@link Aot}.
+   * At the first deoptimization, the call site of the specialization is linked to a code
+   * generated from the source of the script, so the types of the bindings are tracked again,
+   * and the direct calls of the precompiled code to itself now go through the call site.
+   * @param nameAndType the name and the descriptor of the specialization.
+   */
+  void deoptimizedPrecompiled(String nameAndType) {
+    PrecompiledCallSite callSite = precompiledMap.remove(nameAndType);
+    if (callSite == null) {
+      return;  // already replaced
+    }
+    int index = nameAndType.indexOf('(');
+    String name = nameAndType.substring(0, index);
+    MethodType methodType = MethodType.fromMethodDescriptorString(nameAndType.substring(index), null);
+    callSite.setTarget(getCallSite(name, methodType).dynamicInvoker());
+    MutableCallSite.syncAll(new MutableCallSite[] { callSite });
+    SwitchPoint.invalidateAll(new SwitchPoint[] { callSite.switchPoint });
+  }
+  
+  /**
+   * Returns the continuation of a loop of the code of a specialization that was invalidated,
+   * see {@link Generator}.
+   * @param nameAndType the name and the descriptor of the specialization.
+   * @param osrLoop the index of the loop.
+   * @return a method handle that takes the boxed values of the variables in scope at the start of the loop.
+   */
+  MethodHandle continuation(String nameAndType, int osrLoop) {
+    int index = nameAndType.indexOf('(');
+    String name = nameAndType.substring(0, index);
+    MethodType methodType = MethodType.fromMethodDescriptorString(nameAndType.substring(index), null);
+    MethodHandle continuation = functionMap().get(name).callSiteMap.get(methodType).continuation(osrLoop);
+    evictPending();
+    return continuation;
   }
   
   public void invalidate(String nameAndType) {
@@ -84,8 +583,83 @@ public class Linker {
     String name = nameAndType.substring(0, index);
     MethodType methodType = MethodType.fromMethodDescriptorString(nameAndType.substring(index), null);
 
-    System.out.println("linker invalidate: " + name + ':' + methodType);    
-    functionMap.get(name).callSiteMap.get(methodType).invalidate();
+    System.out.println("linker invalidate: " + name + ':' + methodType);
+    if (precompiledMap.containsKey(nameAndType)) {
+      return;  // replaced at its first deoptimization, see deoptimizedPrecompiled()
+    }
+    functionMap().get(name).invalidate(this, name, methodType);
+  }
+  
+  /**
+   * Returns the function to inline at a call site or null if the function should be called.
+   * A function is inlined if it's small, doesn't call other functions and
+   * was not invalidated too many times.
+   * @param name the name of the called function.
+   * @param methodType the type of the call site.
+   * @param callerNameAndType the specialization that inlines the function,
+   *        it will be invalidated with the specialization of the inlined function.
+   * @return the function to inline or null.
+   */
+  Function inliningCandidate(String name, MethodType methodType, String callerNameAndType) {
+    if (precompiledMap.containsKey(name + methodType.toMethodDescriptorString())) {
+      return null;
+    }
+    Function function = functionMap().get(name);
+    if (function == null || function.fn.parameters().size() != methodType.parameterCount() ||
+        function.invalidationCount.get() >= MAX_INVALIDATIONS || !function.isInlineable()) {
+      return null;
+    }
+    function.inlined(methodType, callerNameAndType);
+    return function;
+  }
+  
+  /**
+   * Returns the invalidation counters of the functions and of their specializations,
+   * one line per function followed by one line per specialization,
+   * then the number of evicted specializations and the memory used by the classes and by the compiled code.
+   * @return the invalidation counters.
+   */
+  public List<String> statistics() {
+    ArrayList<String> lines = new ArrayList<>();
+    Map<String, Function> functionMap;
+    synchronized(this) {
+      functionMap = this.functionMap;
+    }
+    if (functionMap == null) {  // nothing was linked
+      return lines;
+    }
+    functionMap.forEach((name, function) -> {
+      lines.add(name + " invalidations=" + function.invalidationCount.get());
+      function.callSiteMap.forEach((methodType, callSite) ->
+        lines.add("  " + name + ':' + methodType + " invalidations=" + callSite.invalidationCount.get() +
+            (callSite.pinned? " pinned": "")));
+    });
+    synchronized(codeMap) {
+      lines.add("generated codes=" + codeMap.size() + " evictions=" + evictionCount.get());
+    }
+    // the metaspace and the code cache (or the code heaps)
+    for(MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.NON_HEAP) {
+        lines.add(pool.getName() + " used=" + pool.getUsage().getUsed());
+      }
+    }
+    return lines;
+  }
+  
+  /**
+   * Returns the call site of an invokedynamic of the generated code, see {@link RT#bsm}.
+   * The calls to a specialization that takes Objects use a polymorphic inline cache,
+   * so the values that are ints, longs or doubles are passed to a more specific specialization.
+   * @param name the name of the called function.
+   * @param methodType the type of the invokedynamic.
+   * @return a new call site.
+   */
+  CallSite link(String name, MethodType methodType) {
+    CallSite callSite = getCallSite(name, methodType);
+    if (PIC_SIZE == 0 || !(callSite instanceof InvalidableCallSite) || !methodType.parameterList().contains(Object.class)) {
+      return callSite;
+    }
+    return new PolymorphicCallSite(this, name, callSite);
   }
   
   public CallSite getCallSite(String name, MethodType methodType) {
@@ -102,11 +676,18 @@ public class Linker {
       return new ConstantCallSite(mh.asType(mh.type().changeReturnType(methodType.returnType())));
     }
     
-    Function function = functionMap.get(name);
+    PrecompiledCallSite precompiled = precompiledMap.get(name + methodType.toMethodDescriptorString());
+    if (precompiled != null) {
+      return precompiled;
+    }
+    
+    Function function = functionMap().get(name);
     if (function == null || function.fn.parameters().size() != methodType.parameterCount()) {
       throw new IllegalStateException("no function matching " + name + methodType + " found");
     }
     
-    return function.createCallSite(this, name, methodType);
+    CallSite callSite = function.createCallSite(this, name, methodType);
+    evictPending();
+    return callSite;
   }
 }
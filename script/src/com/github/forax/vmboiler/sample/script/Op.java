@@ -24,11 +24,16 @@ public enum Op {
   private static final BinaryOperator<Type> NUMERIC()  {
     return (t1, t2) -> {
       Type erased1 = t1.erase();
-      Type erased2 = t1.erase();
+      Type erased2 = t2.erase();
       if (erased1 == Type.INT && erased2 == Type.INT) {
         return Type.MIXED_INT;
       }
-      if (erased1 == Type.NUM || erased2 == Type.NUM) {
+      if (erased1.isInteger() && erased2.isInteger()) {
+        return Type.MIXED_LONG;
+      }
+      if (erased1 == Type.NUM && (erased2 == Type.NUM || erased2.isInteger()) ||
+          erased1.isInteger() && erased2 == Type.NUM) {
+        // the integer is speculatively widened to a double
         return Type.NUM.mix(t1.isMixed() || t2.isMixed());
       }
       return Type.OBJECT;
@@ -39,6 +39,10 @@ public class Parser {
       return new Literal(integer);
     }
     @Override
+    public Expr expr_decimal(Double decimal) {
+      return new Literal(decimal);
+    }
+    @Override
     public Expr expr_text(String text) {
       return new Literal(text);
     }
@@ -134,11 +138,20 @@ public class Parser {
       public Object integer(CharSequence data) {
         try {
           return Integer.parseInt(data.toString());
+        } catch(IllegalArgumentException e) {
+          // too big for an int
+        }
+        try {
+          return Long.parseLong(data.toString());
         } catch(IllegalArgumentException e) {
           return new BigInteger(data.toString());
         }
       }
       @Override
+      public Double decimal(CharSequence data) {
+        return Double.parseDouble(data.toString());
+      }
+      @Override
       public String id(CharSequence data) {
         return data.toString();
       }
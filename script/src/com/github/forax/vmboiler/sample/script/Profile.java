@@ -0,0 +1,220 @@
+package com.github.forax.vmboiler.sample.script;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.github.forax.vmboiler.sample.script.Expr.*;
+
+/**
+ * A snapshot of the types of the bindings of all specializations of a script.
+ *
+ * A snapshot is a text file, the first line is the hash of the AST of the script,
+ * then each line describes the types of a specialization
+ * <pre>
+ *   fibo INT : 0=INT 3=MIXED_INT ...
+ * </pre>
+ * with the name of the function, the types of the parameters and for each binding
+ * the index of its expression in a pre-order traversal of the function with its type.
+ */
+public class Profile {
+  private final String hash;
+  private final HashMap<String, TreeMap<Integer, Type>> typeMap;
+
+  private Profile(String hash, HashMap<String, TreeMap<Integer, Type>> typeMap) {
+    this.hash = hash;
+    this.typeMap = typeMap;
+  }
+
+  /**
+   * Load the snapshot of a script.
+   * @param path the path of the snapshot.
+   * @param script the script.
+   * @return the snapshot or an empty snapshot if the file doesn't exist
+   *         or was created for another script.
+   */
+  public static Profile load(Path path, Script script) {
+    String hash = hash(script);
+    HashMap<String, TreeMap<Integer, Type>> typeMap = new HashMap<>();
+    if (Files.exists(path)) {
+      try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+        if (hash.equals(reader.readLine())) {
+          String line;
+          while((line = reader.readLine()) != null) {
+            int index = line.indexOf(" : ");
+            TreeMap<Integer, Type> types = new TreeMap<>();
+            for(String entry: line.substring(index + 3).split(" ")) {
+              if (entry.isEmpty()) {
+                continue;
+              }
+              int equal = entry.indexOf('=');
+              types.put(Integer.parseInt(entry.substring(0, equal)), Type.valueOf(entry.substring(equal + 1)));
+            }
+            typeMap.put(line.substring(0, index), types);
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return new Profile(hash, typeMap);
+  }
+
+  /**
+   * Save the snapshot.
+   * @param path the path of the snapshot.
+   */
+  public void save(Path path) {
+    try(BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      writer.write(hash);
+      writer.newLine();
+      for(Map.Entry<String, TreeMap<Integer, Type>> entry: new TreeMap<>(typeMap).entrySet()) {
+        writer.write(entry.getKey() + " : " + entry.getValue().entrySet().stream()
+            .map(e -> e.getKey() + "=" + e.getValue())
+            .collect(Collectors.joining(" ")));
+        writer.newLine();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String key(Fn fn, List<Class<?>> parameterTypes) {
+    return fn.name() + parameterTypes.stream()
+        .map(type -> " " + Type.getTypeFromClass(type))
+        .collect(Collectors.joining());
+  }
+
+  /**
+   * Widen the bindings of a specialization with the types of the snapshot.
+   * @param fn the function.
+   * @param parameterTypes the parameter types of the specialization.
+   * @param bindingMap the bindings of the specialization.
+   */
+  public synchronized void apply(Fn fn, List<Class<?>> parameterTypes, HashMap<Expr, Binding> bindingMap) {
+    TreeMap<Integer, Type> types = typeMap.get(key(fn, parameterTypes));
+    if (types == null) {
+      return;
+    }
+    List<Expr> exprs = exprs(fn);
+    types.forEach((index, type) -> {
+      Binding binding = bindingMap.get(exprs.get(index));
+      if (binding != null) {
+        binding.widen(type);
+      }
+    });
+  }
+
+  /**
+   * Store the types of the bindings of a specialization in the snapshot.
+   * @param fn the function.
+   * @param parameterTypes the parameter types of the specialization.
+   * @param bindingMap the bindings of the specialization.
+   */
+  public synchronized void record(Fn fn, List<Class<?>> parameterTypes, HashMap<Expr, Binding> bindingMap) {
+    TreeMap<Integer, Type> types = new TreeMap<>();
+    List<Expr> exprs = exprs(fn);
+    for(int i = 0; i < exprs.size(); i++) {
+      Binding binding = bindingMap.get(exprs.get(i));
+      if (binding != null) {
+        types.put(i, binding.type());
+      }
+    }
+    typeMap.put(key(fn, parameterTypes), types);
+  }
+
+  // all expressions of a function in pre-order
+  static List<Expr> exprs(Fn fn) {
+    ArrayList<Expr> exprs = new ArrayList<>();
+    exprs.addAll(fn.parameters());
+    CHILDREN.call(fn.block(), exprs);
+    return exprs;
+  }
+
+  private static final Visitor<Void, List<Expr>> CHILDREN = new Visitor<Void, List<Expr>>()
+      .when(Literal.class, (literal, exprs) -> {
+        exprs.add(literal);
+        return null;
+      })
+      .when(Block.class, (block, exprs) -> {
+        exprs.add(block);
+        block.exprs().forEach(expr -> Profile.CHILDREN.call(expr, exprs));
+        return null;
+      })
+      .when(VarAccess.class, (varAccess, exprs) -> {
+        exprs.add(varAccess);
+        return null;
+      })
+      .when(VarAssignment.class, (varAssignment, exprs) -> {
+        exprs.add(varAssignment);
+        Profile.CHILDREN.call(varAssignment.expr(), exprs);
+        return null;
+      })
+      .when(Call.class, (call, exprs) -> {
+        exprs.add(call);
+        call.exprs().forEach(expr -> Profile.CHILDREN.call(expr, exprs));
+        return null;
+      })
+      .when(If.class, (if_, exprs) -> {
+        exprs.add(if_);
+        Profile.CHILDREN.call(if_.condition(), exprs);
+        Profile.CHILDREN.call(if_.truePart(), exprs);
+        Profile.CHILDREN.call(if_.falsePart(), exprs);
+        return null;
+      })
+      .when(While.class, (while_, exprs) -> {
+        exprs.add(while_);
+        Profile.CHILDREN.call(while_.condition(), exprs);
+        Profile.CHILDREN.call(while_.body(), exprs);
+        return null;
+      })
+      ;
+
+  // a hash of the AST of the script, a snapshot is only valid for the same AST
+  private static String hash(Script script) {
+    StringBuilder builder = new StringBuilder();
+    for(Fn fn: script.funs()) {
+      builder.append("fn ").append(fn.name());
+      fn.parameters().forEach(parameter -> builder.append(' ').append(parameter.name()));
+      builder.append('\n');
+      for(Expr expr: exprs(fn)) {
+        builder.append(expr.getClass().getSimpleName());
+        if (expr instanceof Literal) {
+          Object constant = ((Literal)expr).constant();
+          builder.append(' ').append(constant.getClass().getSimpleName()).append(' ').append(constant);
+        } else if (expr instanceof VarAccess) {
+          builder.append(' ').append(((VarAccess)expr).name());
+        } else if (expr instanceof VarAssignment) {
+          builder.append(' ').append(((VarAssignment)expr).name());
+        } else if (expr instanceof Call) {
+          builder.append(' ').append(((Call)expr).name()).append(' ').append(((Call)expr).exprs().size());
+        } else if (expr instanceof Block) {
+          builder.append(' ').append(((Block)expr).exprs().size());
+        }
+        builder.append('\n');
+      }
+    }
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+      StringBuilder hash = new StringBuilder();
+      for(int i = 0; i < 16; i++) {
+        hash.append(String.format("%02x", digest[i]));
+      }
+      return hash.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
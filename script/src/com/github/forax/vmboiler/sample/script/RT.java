@@ -6,16 +6,61 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.invoke.MethodType;
+import java.lang.invoke.SwitchPoint;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.math.BigInteger;
 import java.util.HashMap;
 
+import sun.misc.Unsafe;
+
 import com.github.forax.vmboiler.rt.OptimisticError;
 
+@SuppressWarnings("restriction")
 public class RT {
+  // return the values that doesn't fit in a primitive type using a carrier instead of an exception,
+  // see CodeGen.Option.CARRIER_RETURN, a method handle that converts a returned value
+  // must check the sentinel value first (see Ops.narrow)
+  static final boolean CARRIER_RETURN = Boolean.getBoolean("script.carrierReturn");
+  
+  // define the class of a generated function as an anonymous class of RT,
+  // patches are the values of the patched constant pool entries
+  static MethodHandle define(String name, String desc, byte[] bytecode, Object[] patches) {
+    Class<?> clazz = UNSAFE.defineAnonymousClass(RT.class, bytecode, patches);
+    UNSAFE.ensureClassInitialized(clazz);
+    try {
+      return MethodHandles.publicLookup().findStatic(clazz, name, MethodType.fromMethodDescriptorString(desc, null));
+    } catch (NoSuchMethodException | IllegalAccessException | TypeNotPresentException e) {
+      throw new AssertionError(e);
+    }
+  }
+  
+  private static final Unsafe UNSAFE;
+  static {
+    try {
+      Field field = Unsafe.class.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      UNSAFE = (Unsafe)field.get(null);
+    } catch (NoSuchFieldException | IllegalAccessException e) {
+      throw new AssertionError(e);
+    }
+  }
+  
+  // true until the code that contains the call site is invalidated, see Generator
+  public static CallSite bsm_valid(Lookup lookup, String name, MethodType methodType, SwitchPoint switchPoint) {
+    return new ConstantCallSite(switchPoint.guardWithTest(
+        MethodHandles.constant(boolean.class, true), MethodHandles.constant(boolean.class, false)));
+  }
+  
+  // the continuation of a loop of an invalidated code is asked to the linker each time the loop is exited
+  public static CallSite bsm_osr(Lookup lookup, String name, MethodType methodType, Linker linker, String nameAndType, int osrLoop) {
+    MethodHandle continuation = MethodHandles.insertArguments(CONTINUATION, 0, linker, nameAndType, osrLoop);
+    return new ConstantCallSite(MethodHandles.foldArguments(MethodHandles.exactInvoker(methodType), continuation));
+  }
+  
   public static CallSite bsm(Lookup lookup, String name, MethodType methodType, Linker linker) {
     //System.out.println("link " + name + methodType);
-    return linker.getCallSite(name, methodType);
+    return linker.link(name, methodType);
   }
   
   @SuppressWarnings("unused") // used by a method handle
@@ -28,10 +73,7 @@ public class RT {
       if (binding == null) {
         continue;
       }
-      Type type = binding.type();
-      Type mergedType = Type.merge(type, Type.getTypeFromValue(values[i]));
-      if (type != mergedType) {
-        binding.type(mergedType);
+      if (binding.widen(Type.getTypeFromValue(values[i]))) {
         invalidation = true;
       }
     }
@@ -44,20 +86,54 @@ public class RT {
   @SuppressWarnings("unused") // used by a method handle
   private static boolean deopt_return(Linker linker, String nameAndType, Binding binding, Lookup lookup, String name, MethodType methodType, Object value) {
     System.out.println("deopt return " + value + " " + binding);
-    if (binding != null) {
-      binding.type(Type.merge(Type.getTypeFromValue(value), binding.type()));
+    if (binding != null && binding.widen(Type.getTypeFromValue(value))) {
       linker.invalidate(nameAndType);
     }
     return false;
   }
   
+  // a specialization compiled ahead of time has no bindings, its first deoptimization
+  // replaces it by a code generated from the source of the script, see Aot
+  @SuppressWarnings("unused") // used by a method handle
+  private static boolean deopt_precompiled_args(Linker linker, String nameAndType, Lookup lookup, String name, MethodType methodType, Object[] values) {
+    linker.deoptimizedPrecompiled(nameAndType);
+    return false;
+  }
+  
+  @SuppressWarnings("unused") // used by a method handle
+  private static boolean deopt_precompiled_return(Linker linker, String nameAndType, Lookup lookup, String name, MethodType methodType, Object value) {
+    linker.deoptimizedPrecompiled(nameAndType);
+    return false;
+  }
+  
   @SuppressWarnings("unused") // used by a method handle
   private static void throwOptimisticError(Object value) {
     throw OptimisticError.newOptimisticError(value);
   }
   
-  private static final MethodHandle THROW_OPTIMISTIC_ERROR, IS_INSTANCE;
-  static final MethodHandle DEOPT_ARGS, DEOPT_RETURN;
+  @SuppressWarnings("unused") // used by a method handle
+  private static boolean isLong(Object value) {
+    return value instanceof Long || value instanceof Integer;
+  }
+  
+  @SuppressWarnings("unused") // used by a method handle
+  private static long toLong(Object value) {
+    return ((Number)value).longValue();
+  }
+  
+  @SuppressWarnings("unused") // used by a method handle
+  private static boolean isDouble(Object value) {
+    return value instanceof Double || value instanceof Integer || value instanceof Long;
+  }
+  
+  @SuppressWarnings("unused") // used by a method handle
+  private static double toDouble(Object value) {
+    return ((Number)value).doubleValue();
+  }
+  
+  private static final MethodHandle THROW_OPTIMISTIC_ERROR, IS_INSTANCE, IS_LONG, TO_LONG, IS_DOUBLE, TO_DOUBLE, TO_INT, NARROW;
+  static final MethodHandle DEOPT_ARGS, DEOPT_RETURN, DEOPT_PRECOMPILED_ARGS, DEOPT_PRECOMPILED_RETURN;
+  private static final MethodHandle CONTINUATION;
   static {
     Lookup lookup = MethodHandles.lookup();
     try {
@@ -65,19 +141,77 @@ public class RT {
           MethodType.methodType(void.class, Object.class));
       IS_INSTANCE = MethodHandles.publicLookup().findVirtual(Class.class, "isInstance",
           MethodType.methodType(boolean.class, Object.class));
+      IS_LONG = lookup.findStatic(RT.class, "isLong",
+          MethodType.methodType(boolean.class, Object.class));
+      TO_LONG = lookup.findStatic(RT.class, "toLong",
+          MethodType.methodType(long.class, Object.class));
+      IS_DOUBLE = lookup.findStatic(RT.class, "isDouble",
+          MethodType.methodType(boolean.class, Object.class));
+      TO_DOUBLE = lookup.findStatic(RT.class, "toDouble",
+          MethodType.methodType(double.class, Object.class));
+      TO_INT = lookup.findStatic(Ops.class, "toInt",
+          MethodType.methodType(int.class, long.class));
+      NARROW = lookup.findStatic(Ops.class, "narrow",
+          MethodType.methodType(int.class, long.class));
       DEOPT_ARGS = lookup.findStatic(RT.class, "deopt_args",
           MethodType.methodType(boolean.class, Linker.class, String.class, Binding[].class, Lookup.class, String.class, MethodType.class, Object[].class));
       DEOPT_RETURN = lookup.findStatic(RT.class, "deopt_return",
           MethodType.methodType(boolean.class, Linker.class, String.class, Binding.class, Lookup.class, String.class, MethodType.class, Object.class));
+      DEOPT_PRECOMPILED_ARGS = lookup.findStatic(RT.class, "deopt_precompiled_args",
+          MethodType.methodType(boolean.class, Linker.class, String.class, Lookup.class, String.class, MethodType.class, Object[].class));
+      DEOPT_PRECOMPILED_RETURN = lookup.findStatic(RT.class, "deopt_precompiled_return",
+          MethodType.methodType(boolean.class, Linker.class, String.class, Lookup.class, String.class, MethodType.class, Object.class));
+      CONTINUATION = lookup.findVirtual(Linker.class, "continuation",
+          MethodType.methodType(MethodHandle.class, String.class, int.class));
     } catch (NoSuchMethodException | IllegalAccessException e) {
       throw new AssertionError(e);
     }
   }
   
   private static MethodHandle checkTypeAndConvert(Class<?> returnType) {
+    if (returnType == long.class) {  // an Integer is also a long
+      return MethodHandles.guardWithTest(IS_LONG, TO_LONG, optimisticFailure(returnType));
+    }
+    if (returnType == double.class) {  // an Integer or a Long is widened to a double
+      return MethodHandles.guardWithTest(IS_DOUBLE, TO_DOUBLE, optimisticFailure(returnType));
+    }
     return MethodHandles.guardWithTest(IS_INSTANCE.bindTo(boxed(returnType)),
         MethodHandles.identity(Object.class).asType(MethodType.methodType(returnType, Object.class)),
-        THROW_OPTIMISTIC_ERROR.asType(MethodType.methodType(returnType, Object.class)));
+        optimisticFailure(returnType));
+  }
+  
+  // convert the Object returned by target to returnType
+  static MethodHandle convertReturnValue(MethodHandle target, Class<?> returnType) {
+    if (returnType == int.class || returnType == long.class || returnType == double.class) {
+      return MethodHandles.filterReturnValue(target, checkTypeAndConvert(returnType));
+    }
+    return target.asType(target.type().changeReturnType(returnType));
+  }
+  
+  private static MethodHandle optimisticFailure(Class<?> returnType) {
+    if (!CARRIER_RETURN) {
+      return THROW_OPTIMISTIC_ERROR.asType(MethodType.methodType(returnType, Object.class));
+    }
+    String name;
+    switch(returnType.getName()) {
+    case "int":
+      name = "carryInt";
+      break;
+    case "long":
+      name = "carryLong";
+      break;
+    case "double":
+      name = "carryDouble";
+      break;
+    default:
+      throw new AssertionError("unknown type " + returnType);
+    }
+    try {
+      return MethodHandles.publicLookup().findStatic(com.github.forax.vmboiler.rt.RT.class, name,
+          MethodType.methodType(returnType, Object.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new AssertionError(e);
+    }
   }
   
   private static Class<?> boxed(Class<?> type) {
@@ -87,6 +221,8 @@ public class RT {
     switch(type.getName()) {
     case "int":
       return Integer.class;
+    case "long":
+      return Long.class;
     case "double":
       return Double.class;
     default:
@@ -100,8 +236,10 @@ public class RT {
     MethodHandle target;
     Class<?> returnType = methodType.returnType();
     Class<?> parameterType = methodType.parameterType(0);
-    if (returnType == parameterType || returnType == Object.class || returnType == void.class) {
+    if (returnType == parameterType || returnType == Object.class || returnType == void.class || returnType == boolean.class) {
       target = MethodHandles.identity(parameterType).asType(methodType);
+    } else if (returnType == int.class && parameterType == long.class) {
+      target = TO_INT;
     } else {
       target = checkTypeAndConvert(returnType).asType(methodType);
     }
@@ -109,92 +247,267 @@ public class RT {
   }
   
   static class Ops {
+    // index of the int, long, double and Object versions of an operation in OP_MAP
+    static final int INT_OP = 0, LONG_OP = 1, DOUBLE_OP = 2, OBJECT_OP = 3;
+    
     private static BigInteger toBig(Object o) {
-      if (o instanceof Integer) {
-        return BigInteger.valueOf((Integer)o);
+      if (o instanceof BigInteger) {
+        return (BigInteger)o;
+      }
+      return BigInteger.valueOf(((Number)o).longValue());
+    }
+    
+    // if one of the values is a double, the operation is done on doubles
+    private static boolean isDouble(Object a, Object b) {
+      return a instanceof Double || b instanceof Double;
+    }
+    
+    private static double toDouble(Object o) {
+      return ((Number)o).doubleValue();
+    }
+    
+    // a result that fits in an int is an Integer and a result that fits in a long is a Long,
+    // so it can flow back into an int or a long specialization
+    private static Object normalize(BigInteger value) {
+      int bitLength = value.bitLength();
+      if (bitLength < 32) {
+        return value.intValue();
+      }
+      if (bitLength < 64) {
+        return value.longValue();
+      }
+      return value;
+    }
+    
+    // the result of an int operation always fits in a long, the error doesn't box it
+    private static int overflow(long value) {
+      if (CARRIER_RETURN) {
+        return com.github.forax.vmboiler.rt.RT.carryInt(value);
+      }
+      throw OptimisticError.newOptimisticError(value);
+    }
+    
+    private static long overflow(BigInteger value) {
+      if (CARRIER_RETURN) {
+        return com.github.forax.vmboiler.rt.RT.carryLong(value);
+      }
+      throw OptimisticError.newOptimisticError(value);
+    }
+    
+    // narrow the result of a long operation to an int
+    static int toInt(long value) {
+      if ((int)value == value) {
+        return (int)value;
+      }
+      return overflow(value);
+    }
+    
+    // narrow the result of a long operation to an int,
+    // with the carrier, the result may be the sentinel of a value that doesn't fit in a long
+    static int narrow(long value) {
+      if (CARRIER_RETURN && value == com.github.forax.vmboiler.rt.RT.LONG_SENTINEL) {
+        Object carried = com.github.forax.vmboiler.rt.RT.takeCarried();
+        if (carried != com.github.forax.vmboiler.rt.RT.NONE) {
+          return com.github.forax.vmboiler.rt.RT.carryInt(carried);
+        }
       }
-      return (BigInteger)o;
+      return toInt(value);
     }
     
     public static int add(int a, int b) {
-      //return a + b;
       try {
         return Math.addExact(a, b);
       } catch(ArithmeticException e) {
-        throw OptimisticError.newOptimisticError(BigInteger.valueOf(a).add(BigInteger.valueOf(b)));
+        return overflow((long)a + b);
+      }
+    }
+    public static long add(long a, long b) {
+      try {
+        return Math.addExact(a, b);
+      } catch(ArithmeticException e) {
+        return overflow(BigInteger.valueOf(a).add(BigInteger.valueOf(b)));
       }
-      //throw OptimisticError.newOptimisticError(BigInteger.valueOf(a).add(BigInteger.valueOf(b)));
+    }
+    public static double add(double a, double b) {
+      return a + b;
     }
     public static Object add(Object a, Object b) {
-      return toBig(a).add(toBig(b));
+      if (isDouble(a, b)) {
+        return toDouble(a) + toDouble(b);
+      }
+      return normalize(toBig(a).add(toBig(b)));
     }
     
     public static int sub(int a, int b) {
-      //return a - b;
       try {
         return Math.subtractExact(a, b);
       } catch(ArithmeticException e) {
-        throw OptimisticError.newOptimisticError(BigInteger.valueOf(a).subtract(BigInteger.valueOf(b)));
+        return overflow((long)a - b);
       }
     }
+    public static long sub(long a, long b) {
+      try {
+        return Math.subtractExact(a, b);
+      } catch(ArithmeticException e) {
+        return overflow(BigInteger.valueOf(a).subtract(BigInteger.valueOf(b)));
+      }
+    }
+    public static double sub(double a, double b) {
+      return a - b;
+    }
     public static Object sub(Object a, Object b) {
-      return toBig(a).subtract(toBig(b));
+      if (isDouble(a, b)) {
+        return toDouble(a) - toDouble(b);
+      }
+      return normalize(toBig(a).subtract(toBig(b)));
     }
     
     public static int mul(int a, int b) {
       try {
         return Math.multiplyExact(a, b);
       } catch(ArithmeticException e) {
-        throw OptimisticError.newOptimisticError(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)));
+        return overflow((long)a * b);
       }
     }
+    public static long mul(long a, long b) {
+      try {
+        return Math.multiplyExact(a, b);
+      } catch(ArithmeticException e) {
+        return overflow(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)));
+      }
+    }
+    public static double mul(double a, double b) {
+      return a * b;
+    }
     public static Object mul(Object a, Object b) {
-      return toBig(a).multiply(toBig(b));
+      if (isDouble(a, b)) {
+        return toDouble(a) * toDouble(b);
+      }
+      return normalize(toBig(a).multiply(toBig(b)));
     }
     
     public static int div(int a, int b) {
       return a / b;
     }
+    public static long div(long a, long b) {
+      return a / b;
+    }
+    public static double div(double a, double b) {
+      return a / b;
+    }
     public static Object div(Object a, Object b) {
-      return toBig(a).divide(toBig(b));
+      if (isDouble(a, b)) {
+        return toDouble(a) / toDouble(b);
+      }
+      return normalize(toBig(a).divide(toBig(b)));
+    }
+    
+    public static int rem(int a, int b) {
+      return a % b;
+    }
+    public static long rem(long a, long b) {
+      return a % b;
+    }
+    public static double rem(double a, double b) {
+      return a % b;
+    }
+    public static Object rem(Object a, Object b) {
+      if (isDouble(a, b)) {
+        return toDouble(a) % toDouble(b);
+      }
+      return normalize(toBig(a).remainder(toBig(b)));
     }
     
     public static boolean lt(int a, int b) {
       return a < b;
     }
+    public static boolean lt(long a, long b) {
+      return a < b;
+    }
+    public static boolean lt(double a, double b) {
+      return a < b;
+    }
     public static boolean lt(Object a, Object b) {
+      if (isDouble(a, b)) {
+        return toDouble(a) < toDouble(b);
+      }
       return toBig(a).compareTo(toBig(b)) < 0;
     }
     public static boolean le(int a, int b) {
       return a <= b;
     }
+    public static boolean le(long a, long b) {
+      return a <= b;
+    }
+    public static boolean le(double a, double b) {
+      return a <= b;
+    }
     public static boolean le(Object a, Object b) {
+      if (isDouble(a, b)) {
+        return toDouble(a) <= toDouble(b);
+      }
       return toBig(a).compareTo(toBig(b)) <= 0;
     }
     
     public static boolean gt(int a, int b) {
       return a > b;
     }
+    public static boolean gt(long a, long b) {
+      return a > b;
+    }
+    public static boolean gt(double a, double b) {
+      return a > b;
+    }
     public static boolean gt(Object a, Object b) {
+      if (isDouble(a, b)) {
+        return toDouble(a) > toDouble(b);
+      }
       return toBig(a).compareTo(toBig(b)) > 0;
     }
     public static boolean ge(int a, int b) {
       return a >= b;
     }
+    public static boolean ge(long a, long b) {
+      return a >= b;
+    }
+    public static boolean ge(double a, double b) {
+      return a >= b;
+    }
     public static boolean ge(Object a, Object b) {
+      if (isDouble(a, b)) {
+        return toDouble(a) >= toDouble(b);
+      }
       return toBig(a).compareTo(toBig(b)) >= 0;
     }
     
     public static boolean eq(int a, int b) {
       return a == b;
     }
+    public static boolean eq(long a, long b) {
+      return a == b;
+    }
+    public static boolean eq(double a, double b) {
+      return a == b;
+    }
     public static boolean eq(Object a, Object b) {
+      if (isDouble(a, b)) {
+        return toDouble(a) == toDouble(b);
+      }
       return toBig(a).equals(toBig(b));
     }
     public static boolean ne(int a, int b) {
       return a != b;
     }
+    public static boolean ne(long a, long b) {
+      return a != b;
+    }
+    public static boolean ne(double a, double b) {
+      return a != b;
+    }
     public static boolean ne(Object a, Object b) {
+      if (isDouble(a, b)) {
+        return toDouble(a) != toDouble(b);
+      }
       return !toBig(a).equals(toBig(b));
     }
     
@@ -206,14 +519,16 @@ public class RT {
         if (method.getParameterCount() != 2) {
           continue;
         }
-        int index = (method.getParameterTypes()[0] == int.class)? 0: 1;
+        Class<?> parameterType = method.getParameterTypes()[0];
+        int index = (parameterType == int.class)? INT_OP: (parameterType == long.class)? LONG_OP:
+          (parameterType == double.class)? DOUBLE_OP: OBJECT_OP;
         MethodHandle target;
         try {
           target = lookup.unreflect(method);
         } catch (IllegalAccessException e) {
           throw new AssertionError(e);
         }
-        opMap.computeIfAbsent(method.getName(), name -> new MethodHandle[2])[index] = target;
+        opMap.computeIfAbsent(method.getName(), name -> new MethodHandle[4])[index] = target;
       }
       OP_MAP = opMap;
     }
@@ -227,15 +542,41 @@ public class RT {
       throw new UnsupportedOperationException(name + methodType);
     }
     MethodHandle target;
-    if (mhs[0].type() == methodType) {
-      target = mhs[0];
+    Class<?> returnType = methodType.returnType();
+    if (mhs[Ops.INT_OP].type() == methodType) {
+      target = mhs[Ops.INT_OP];
+    } else if (isIntOrLong(methodType.parameterType(0)) && isIntOrLong(methodType.parameterType(1)) &&
+               returnType != Object.class) {
+      // the ints are widened to longs and the result narrowed if necessary
+      target = mhs[Ops.LONG_OP];
+      if (returnType == int.class) {
+        target = MethodHandles.filterReturnValue(target, NARROW);
+      }
+      target = target.asType(methodType);
+    } else if (isNumeric(methodType.parameterType(0)) && isNumeric(methodType.parameterType(1)) &&
+               returnType != Object.class) {
+      // the integers are widened to doubles, a double result that doesn't fit in an integer is an optimistic failure
+      target = mhs[Ops.DOUBLE_OP];
+      if (returnType == int.class || returnType == long.class) {
+        target = MethodHandles.filterReturnValue(target.asType(target.type().changeReturnType(Object.class)),
+            checkTypeAndConvert(returnType));
+      }
+      target = target.asType(methodType);
     } else {
-      target = mhs[1];
-      if (target.type().returnType() != methodType.returnType()) {
-        target = MethodHandles.filterReturnValue(target, checkTypeAndConvert(methodType.returnType()));
+      target = mhs[Ops.OBJECT_OP];
+      if (target.type().returnType() != returnType) {
+        target = MethodHandles.filterReturnValue(target, checkTypeAndConvert(returnType));
       }
       target = target.asType(methodType);
     }
     return new ConstantCallSite(target);
   }
+  
+  private static boolean isIntOrLong(Class<?> type) {
+    return type == int.class || type == long.class;
+  }
+  
+  private static boolean isNumeric(Class<?> type) {
+    return isIntOrLong(type) || type == double.class;
+  }
 }
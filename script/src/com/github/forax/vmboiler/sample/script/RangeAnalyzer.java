@@ -0,0 +1,325 @@
+package com.github.forax.vmboiler.sample.script;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.github.forax.vmboiler.sample.script.Expr.*;
+
+/**
+ * Find the arithmetic operations on ints that can not overflow.
+ *
+ * The analysis computes an interval for each variable that only stores ints,
+ * the intervals are narrowed by the comparisons of the conditions of the if and the while
+ * and the loops are analyzed until the intervals don't change, so the induction variable
+ * of a counted loop like
+ * <pre>
+ *   i = 0
+ *   while(i &lt; 100000
+ *     i = i + 1)
+ * </pre>
+ * is known to be between 0 and 100000 and {@code i + 1} can not overflow.
+ * The {@link TypeInferer} types such operations as {@link Type#INT} instead of {@link Type#MIXED_INT}.
+ */
+public class RangeAnalyzer {
+  // an interval of ints, null means that the value may not be an int
+  static final class Range {
+    final long min;
+    final long max;
+
+    Range(long min, long max) {
+      this.min = min;
+      this.max = max;
+    }
+
+    boolean isInt() {
+      return min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Range)) {
+        return false;
+      }
+      Range range = (Range)o;
+      return min == range.min && max == range.max;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(min) ^ Long.hashCode(max);
+    }
+
+    @Override
+    public String toString() {
+      return "[" + min + ", " + max + ']';
+    }
+  }
+
+  private static final Range ALL_INTS = new Range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+  // number of iterations of a loop before the intervals that still grow are widened to all the ints
+  private static final int WIDENING_THRESHOLD = 3;
+
+  static class Env {
+    HashMap<String, Range> ranges;
+    final HashMap<Call, Boolean> exactMap;  // true if an operation never overflows
+
+    Env(HashMap<String, Range> ranges, HashMap<Call, Boolean> exactMap) {
+      this.ranges = ranges;
+      this.exactMap = exactMap;
+    }
+
+    Env copy() {
+      return new Env(new HashMap<>(ranges), exactMap);
+    }
+  }
+
+  /**
+   * Returns the operations of a specialization of a function that can not overflow.
+   * @param fn the function.
+   * @param parameterTypes the parameter types of the specialization.
+   * @return the operations (calls to +, - and *) that can not overflow.
+   */
+  public static Set<Expr> exactOperations(Fn fn, Type[] parameterTypes) {
+    Env env = new Env(new HashMap<>(), new HashMap<>());
+    for(int i = 0; i < parameterTypes.length; i++) {
+      if (parameterTypes[i] == Type.INT) {
+        env.ranges.put(fn.parameters().get(i).name(), ALL_INTS);
+      }
+    }
+    VISITOR.call(fn.block(), env);
+    HashSet<Expr> exactOps = new HashSet<>();
+    env.exactMap.forEach((call, exact) -> {
+      if (exact) {
+        exactOps.add(call);
+      }
+    });
+    return exactOps;
+  }
+
+  private static Range operation(Op op, Range left, Range right) {
+    switch(op) {
+    case add:
+      return new Range(left.min + right.min, left.max + right.max);
+    case sub:
+      return new Range(left.min - right.max, left.max - right.min);
+    case mul: {
+      long a = left.min * right.min, b = left.min * right.max, c = left.max * right.min, d = left.max * right.max;
+      return new Range(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+    }
+    case rem: {
+      long bound = Math.max(Math.abs(right.min), Math.abs(right.max)) - 1;
+      if (bound < 0) {  // always a division by zero
+        return null;
+      }
+      return new Range((left.min < 0)? -bound: 0, (left.max > 0)? bound: 0);
+    }
+    default:
+      return null;
+    }
+  }
+
+  // the union of the intervals of the variables defined in both environments
+  private static HashMap<String, Range> join(HashMap<String, Range> ranges1, HashMap<String, Range> ranges2) {
+    HashMap<String, Range> ranges = new HashMap<>();
+    ranges1.forEach((name, range1) -> {
+      Range range2 = ranges2.get(name);
+      if (range2 != null) {
+        ranges.put(name, new Range(Math.min(range1.min, range2.min), Math.max(range1.max, range2.max)));
+      }
+    });
+    return ranges;
+  }
+
+  // the intervals that are still growing become all the ints
+  private static HashMap<String, Range> widen(HashMap<String, Range> oldRanges, HashMap<String, Range> newRanges) {
+    HashMap<String, Range> ranges = new HashMap<>();
+    newRanges.forEach((name, range) -> {
+      Range oldRange = oldRanges.get(name);
+      if (oldRange != null) {
+        ranges.put(name, new Range(
+            (range.min < oldRange.min)? Integer.MIN_VALUE: range.min,
+            (range.max > oldRange.max)? Integer.MAX_VALUE: range.max));
+      }
+    });
+    return ranges;
+  }
+
+  // narrow the interval of a variable compared to a value, the environment is the one where the condition is true
+  private static void narrow(Expr condition, boolean value, Env env) {
+    if (!(condition instanceof Call)) {
+      return;
+    }
+    Call call = (Call)condition;
+    Op op = call.optionalOp().orElse(null);
+    if (op == null) {
+      return;
+    }
+    Expr left = call.exprs().get(0);
+    Expr right = call.exprs().get(1);
+    if (left instanceof VarAccess) {
+      narrow(((VarAccess)left).name(), value? op: negate(op), operand(right, env), env);
+    }
+    if (right instanceof VarAccess) {
+      narrow(((VarAccess)right).name(), swap(value? op: negate(op)), operand(left, env), env);
+    }
+  }
+  
+  // the interval of an operand of a comparison if the operand has no side effect
+  private static Range operand(Expr expr, Env env) {
+    if (expr instanceof VarAccess) {
+      return env.ranges.get(((VarAccess)expr).name());
+    }
+    if (expr instanceof Literal) {
+      return VISITOR.call(expr, env);
+    }
+    return null;
+  }
+
+  // variable op range is true
+  private static void narrow(String name, Op op, Range range, Env env) {
+    Range varRange = env.ranges.get(name);
+    if (varRange == null || range == null) {
+      return;
+    }
+    long min = varRange.min;
+    long max = varRange.max;
+    switch(op) {
+    case lt:
+      max = Math.min(max, range.max - 1);
+      break;
+    case le:
+      max = Math.min(max, range.max);
+      break;
+    case gt:
+      min = Math.max(min, range.min + 1);
+      break;
+    case ge:
+      min = Math.max(min, range.min);
+      break;
+    case eq:
+      min = Math.max(min, range.min);
+      max = Math.min(max, range.max);
+      break;
+    default:
+      return;
+    }
+    if (min > max) {  // the branch is never taken, keep the interval as is
+      return;
+    }
+    env.ranges.put(name, new Range(min, max));
+  }
+
+  private static Op negate(Op op) {
+    switch(op) {
+    case lt:
+      return Op.ge;
+    case le:
+      return Op.gt;
+    case gt:
+      return Op.le;
+    case ge:
+      return Op.lt;
+    case eq:
+      return Op.ne;
+    case ne:
+      return Op.eq;
+    default:
+      return op;
+    }
+  }
+
+  // a op b is b swap(op) a
+  private static Op swap(Op op) {
+    switch(op) {
+    case lt:
+      return Op.gt;
+    case le:
+      return Op.ge;
+    case gt:
+      return Op.lt;
+    case ge:
+      return Op.le;
+    default:
+      return op;
+    }
+  }
+
+  private static final Visitor<Range, Env> VISITOR = new Visitor<Range, Env>()
+      .when(Literal.class, (literal, env) -> {
+        Object constant = literal.constant();
+        if (constant instanceof Integer) {
+          int value = (Integer)constant;
+          return new Range(value, value);
+        }
+        return null;
+      })
+      .when(Block.class, (block, env) -> {
+        Range range = null;
+        for(Expr expr: block.exprs()) {
+          range = RangeAnalyzer.VISITOR.call(expr, env);
+        }
+        return range;
+      })
+      .when(VarAccess.class, (varAccess, env) -> env.ranges.get(varAccess.name()))
+      .when(VarAssignment.class, (varAssignment, env) -> {
+        Range range = RangeAnalyzer.VISITOR.call(varAssignment.expr(), env);
+        if (range == null) {
+          env.ranges.remove(varAssignment.name());
+        } else {
+          env.ranges.put(varAssignment.name(), range);
+        }
+        return range;
+      })
+      .when(Call.class, (call, env) -> {
+        Range[] ranges = call.exprs().stream().map(expr -> RangeAnalyzer.VISITOR.call(expr, env)).toArray(Range[]::new);
+        Op op = call.optionalOp().orElse(null);
+        if (op == null || ranges[0] == null || ranges[1] == null) {
+          env.exactMap.put(call, false);
+          return null;
+        }
+        Range range = operation(op, ranges[0], ranges[1]);
+        boolean exact = range != null && range.isInt();
+        // an operation is exact if it doesn't overflow each time it's analyzed
+        env.exactMap.merge(call, exact, Boolean::logicalAnd);
+        return exact? range: null;
+      })
+      .when(If.class, (if_, env) -> {
+        RangeAnalyzer.VISITOR.call(if_.condition(), env);
+        Env trueEnv = env.copy();
+        narrow(if_.condition(), true, trueEnv);
+        Env falseEnv = env.copy();
+        narrow(if_.condition(), false, falseEnv);
+        Range range1 = RangeAnalyzer.VISITOR.call(if_.truePart(), trueEnv);
+        Range range2 = RangeAnalyzer.VISITOR.call(if_.falsePart(), falseEnv);
+        env.ranges = join(trueEnv.ranges, falseEnv.ranges);
+        if (range1 == null || range2 == null) {
+          return null;
+        }
+        return new Range(Math.min(range1.min, range2.min), Math.max(range1.max, range2.max));
+      })
+      .when(While.class, (while_, env) -> {
+        HashMap<String, Range> entry = env.ranges;
+        HashMap<String, Range> head = entry;
+        for(int iteration = 0;; iteration++) {
+          Env loopEnv = new Env(new HashMap<>(head), env.exactMap);
+          RangeAnalyzer.VISITOR.call(while_.condition(), loopEnv);
+          HashMap<String, Range> exit = new HashMap<>(loopEnv.ranges);
+          narrow(while_.condition(), true, loopEnv);
+          RangeAnalyzer.VISITOR.call(while_.body(), loopEnv);
+          HashMap<String, Range> newHead = join(entry, loopEnv.ranges);
+          if (iteration >= WIDENING_THRESHOLD) {
+            newHead = widen(head, newHead);
+          }
+          if (newHead.equals(head)) {
+            Env exitEnv = new Env(new HashMap<>(exit), env.exactMap);
+            narrow(while_.condition(), false, exitEnv);
+            env.ranges = exitEnv.ranges;
+            return null;
+          }
+          head = newHead;
+        }
+      })
+      ;
+}
@@ -8,6 +8,8 @@ public enum Type implements com.github.forax.vmboiler.Type {
   BOOL(VM_BOOLEAN),
   INT(VM_INT),
   MIXED_INT(VM_INT),
+  LONG(VM_LONG),
+  MIXED_LONG(VM_LONG),
   NUM(VM_DOUBLE),
   MIXED_NUM(VM_DOUBLE),
   OBJECT(VM_OBJECT);
@@ -20,7 +22,7 @@ public enum Type implements com.github.forax.vmboiler.Type {
   
   @Override
   public boolean isMixed() {
-    return this == MIXED_INT || this == MIXED_NUM;
+    return this == MIXED_INT || this == MIXED_LONG || this == MIXED_NUM;
   }
   
   @Override
@@ -32,6 +34,9 @@ public enum Type implements com.github.forax.vmboiler.Type {
     if (this == MIXED_INT) {
       return INT;
     }
+    if (this == MIXED_LONG) {
+      return LONG;
+    }
     if (this == MIXED_NUM) {
       return NUM;
     }
@@ -45,12 +50,19 @@ public enum Type implements com.github.forax.vmboiler.Type {
     if (this == INT) {
       return MIXED_INT;
     }
+    if (this == LONG) {
+      return MIXED_LONG;
+    }
     if (this == NUM) {
       return MIXED_NUM;
     }
     return this;
   }
 
+  boolean isInteger() {
+    return this == INT || this == LONG;
+  }
+
   public static Type merge(Type type1, Type type2) {
     if (type1 == type2) {
       return type1;
@@ -60,11 +72,11 @@ public enum Type implements com.github.forax.vmboiler.Type {
     if (erased1 == erased2) {
       return erased1.mix(true);
     }
-    if (erased1 == INT && erased2 == NUM) {
+    if (erased1 == NUM && erased2.isInteger() || erased1.isInteger() && erased2 == NUM) {
       return NUM.mix(type1.isMixed() || type2.isMixed());
     }
-    if (erased1 == NUM && erased2 == INT) {
-      return NUM.mix(type1.isMixed() || type2.isMixed());
+    if (erased1.isInteger() && erased2.isInteger()) {  // INT and LONG
+      return LONG.mix(type1.isMixed() || type2.isMixed());
     }
     return OBJECT;
   }
@@ -73,6 +85,9 @@ public enum Type implements com.github.forax.vmboiler.Type {
     if (value instanceof Integer) {
       return INT;
     }
+    if (value instanceof Long) {
+      return LONG;
+    }
     if (value instanceof Boolean) {
       return BOOL;
     }
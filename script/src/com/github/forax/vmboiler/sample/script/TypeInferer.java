@@ -1,7 +1,9 @@
 package com.github.forax.vmboiler.sample.script;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.github.forax.vmboiler.sample.script.Expr.*;
@@ -10,19 +12,25 @@ public class TypeInferer {
   static class Env {
     final HashMap<String,Binding> scope;
     final HashMap<Expr, Binding> bindingMap;
+    final Set<Expr> exactOps;  // the operations that can not overflow, see RangeAnalyzer
+    final Fn fn;
+    final Set<Call> tailCalls;
     Type expectedType = Type.VOID; 
     
-    private Env(HashMap<String, Binding> scope, HashMap<Expr, Binding> bindingMap) {
+    private Env(HashMap<String, Binding> scope, HashMap<Expr, Binding> bindingMap, Set<Expr> exactOps, Fn fn, Set<Call> tailCalls) {
       this.scope = scope;
       this.bindingMap = bindingMap;
+      this.exactOps = exactOps;
+      this.fn = fn;
+      this.tailCalls = tailCalls;
     }
     
-    Env(HashMap<Expr, Binding> bindingMap) {
-      this(new HashMap<>(), bindingMap);
+    Env(HashMap<Expr, Binding> bindingMap, Set<Expr> exactOps, Fn fn, Set<Call> tailCalls) {
+      this(new HashMap<>(), bindingMap, exactOps, fn, tailCalls);
     }
     
     Env newEnv() {
-      return new Env(new HashMap<>(scope), bindingMap);
+      return new Env(new HashMap<>(scope), bindingMap, exactOps, fn, tailCalls);
     }
     
     // warning stupid side effect, *must* be called when calling VISITOR.call(...)
@@ -30,23 +38,89 @@ public class TypeInferer {
       expectedType = type;
       return this;
     }
+    
+    // the types of the variables in scope
+    HashMap<String, Type> types() {
+      HashMap<String, Type> types = new HashMap<>();
+      scope.forEach((name, binding) -> types.put(name, binding.type()));
+      return types;
+    }
+    
+    // a variable defined in both branches of an if is defined after the if,
+    // the two bindings are merged into one so the variable is stored at the same place
+    void merge(Env trueEnv, Env falseEnv) {
+      trueEnv.scope.forEach((name, binding1) -> {
+        Binding binding2 = falseEnv.scope.get(name);
+        if (scope.containsKey(name) || binding2 == null) {
+          return;
+        }
+        binding1.widen(binding2.type());
+        bindingMap.replaceAll((expr, binding) -> (binding == binding2)? binding1: binding);
+        scope.put(name, binding1);
+      });
+    }
   }
   
   public static Type inferType(Fn fn, Type returnType, Type[] parameterTypes, HashMap<Expr, Binding> bindingMap) {
-    Env env = new Env(bindingMap);
+    Set<Call> tailCalls = selfTailCalls(fn);
+    Env env = new Env(bindingMap, RangeAnalyzer.exactOperations(fn, parameterTypes), fn, tailCalls);
     for(int i = 0; i < parameterTypes.length; i++) {
       Parameter parameter = fn.parameters().get(i);
       Binding binding = new Binding(parameterTypes[i]);
       env.scope.put(parameter.name(), binding);
       bindingMap.put(parameter, binding);
     }
-    return VISITOR.call(fn.block(), env.expectedType(returnType));
+    if (tailCalls.isEmpty()) {
+      return VISITOR.call(fn.block(), env.expectedType(returnType));
+    }
+    // a self tail call assigns the parameters, so like a loop, the body is typed again
+    // until the types of the parameters don't change
+    Type type;
+    HashMap<String, Type> types;
+    do {
+      types = env.types();
+      type = VISITOR.call(fn.block(), env.newEnv().expectedType(returnType));
+    } while(!types.equals(env.types()));
+    return type;
+  }
+  
+  /**
+   * Returns the calls of a function to itself that are the last expression evaluated by the function,
+   * these calls are compiled as jumps to the start of the function, see {@link Generator}.
+   * @param fn the function.
+   * @return the self tail calls of the function.
+   */
+  static Set<Call> selfTailCalls(Fn fn) {
+    HashSet<Call> tailCalls = new HashSet<>();
+    selfTailCalls(fn, fn.block(), tailCalls);
+    return tailCalls;
+  }
+  
+  private static void selfTailCalls(Fn fn, Expr expr, Set<Call> tailCalls) {
+    if (expr instanceof Block) {
+      List<Expr> exprs = ((Block)expr).exprs();
+      if (!exprs.isEmpty()) {
+        selfTailCalls(fn, exprs.get(exprs.size() - 1), tailCalls);
+      }
+      return;
+    }
+    if (expr instanceof If) {
+      selfTailCalls(fn, ((If)expr).truePart(), tailCalls);
+      selfTailCalls(fn, ((If)expr).falsePart(), tailCalls);
+      return;
+    }
+    if (expr instanceof Call) {
+      Call call = (Call)expr;
+      if (!call.optionalOp().isPresent() && call.name().equals(fn.name()) && call.exprs().size() == fn.parameters().size()) {
+        tailCalls.add(call);
+      }
+    }
   }
   
   private static final Visitor<Type, Env> VISITOR = new Visitor<Type, Env>()
       .when(Literal.class, (literal, env) -> {
         Object constant = literal.constant();
-        return (constant instanceof Integer)? Type.INT: Type.OBJECT;
+        return Type.getTypeFromValue(constant);
       })
       .when(Block.class, (block, env) -> {
         List<Expr> exprs = block.exprs();
@@ -76,7 +150,7 @@ public class TypeInferer {
         expectedType = (binding != null && binding.type() != null)? binding.type(): (expectedType != Type.VOID)? expectedType: null;
         Type type = TypeInferer.VISITOR.call(varAssignment.expr(), env.expectedType(expectedType));
         if (binding != null) {
-          binding.type(Type.merge(binding.type(), type));
+          binding.widen(type);
         } else {
           binding = new Binding(type);
           env.scope.put(name, binding);
@@ -87,24 +161,49 @@ public class TypeInferer {
       .when(Call.class, (call, env) -> {
         Type expectedType = env.expectedType;
         List<Type> types = call.exprs().stream().map(expr -> TypeInferer.VISITOR.call(expr, env.expectedType(null))).collect(Collectors.toList());
-        Type returnType = (expectedType != null)? expectedType.mix(true):
-          call.optionalOp().map(op -> op.returnTypeOp().apply(types.get(0), types.get(1))).orElse(Type.MIXED_INT); //TODO improve heuristic ?
+        Type returnType;
+        if (env.exactOps.contains(call) && types.get(0) == Type.INT && types.get(1) == Type.INT) {
+          // an operation that can not overflow is typed INT and not MIXED_INT
+          returnType = (expectedType != null && expectedType != Type.VOID)? Type.merge(expectedType, Type.INT): Type.INT;
+        } else if (call.optionalOp().isPresent() && expectedType != Type.VOID && expectedType != Type.BOOL) {
+          // the type of an operation depends on the type of its operands more than on the expected type
+          Type opType = call.optionalOp().get().returnTypeOp().apply(types.get(0), types.get(1));
+          returnType = (expectedType != null)? Type.merge(expectedType.mix(true), opType): opType;
+        } else {
+          returnType = (expectedType != null)? expectedType.mix(true): Type.MIXED_INT; //TODO improve heuristic ?
+        }
+        if (env.tailCalls.contains(call)) {
+          // the arguments are assigned to the parameters
+          List<Parameter> parameters = env.fn.parameters();
+          for(int i = 0; i < types.size(); i++) {
+            env.bindingMap.get(parameters.get(i)).widen(types.get(i));
+          }
+        }
         env.bindingMap.put(call, new Binding(returnType));
         return returnType;
       })
       .when(If.class, (if_, env) -> {
         Type expectedType = env.expectedType;
-        TypeInferer.VISITOR.call(if_.condition(), env.newEnv().expectedType(Type.BOOL));
-        Type type1 = TypeInferer.VISITOR.call(if_.truePart(), env.newEnv().expectedType(expectedType));
-        Type type2 = TypeInferer.VISITOR.call(if_.falsePart(), env.newEnv().expectedType(expectedType));
+        TypeInferer.VISITOR.call(if_.condition(), env.expectedType(Type.BOOL));
+        Env trueEnv = env.newEnv();
+        Env falseEnv = env.newEnv();
+        Type type1 = TypeInferer.VISITOR.call(if_.truePart(), trueEnv.expectedType(expectedType));
+        Type type2 = TypeInferer.VISITOR.call(if_.falsePart(), falseEnv.expectedType(expectedType));
+        env.merge(trueEnv, falseEnv);
         Type type = (expectedType == Type.VOID)? Type.VOID: Type.merge(type1, type2);
         env.bindingMap.put(if_, new Binding(type));
         return type;
       })
       .when(While.class, (while_, env) -> {
         Type expectedType = env.expectedType;
-        TypeInferer.VISITOR.call(while_.condition(), env.newEnv().expectedType(Type.BOOL));
-        TypeInferer.VISITOR.call(while_.body(), env.newEnv().expectedType(Type.VOID));
+        // the body may widen the type of a variable used before in the loop,
+        // so the loop is typed again until the types of the variables don't change
+        HashMap<String, Type> types;
+        do {
+          types = env.types();
+          TypeInferer.VISITOR.call(while_.condition(), env.expectedType(Type.BOOL));
+          TypeInferer.VISITOR.call(while_.body(), env.newEnv().expectedType(Type.VOID));
+        } while(!types.equals(env.types()));
         Type type =  (expectedType == Type.VOID)? Type.VOID: Type.OBJECT;
         env.bindingMap.put(while_, new Binding(type));
         return type;
@@ -13,10 +13,20 @@ import static com.github.forax.vmboiler.Type.VM_VOID;
 import static com.github.forax.vmboiler.Value.loadOpcode;
 import static com.github.forax.vmboiler.Value.returnOpcode;
 import static com.github.forax.vmboiler.Value.size;
+import static com.github.forax.vmboiler.rt.RT.DOUBLE_SENTINEL_BITS;
+import static com.github.forax.vmboiler.rt.RT.FLOAT_SENTINEL_BITS;
+import static com.github.forax.vmboiler.rt.RT.INT_SENTINEL;
+import static com.github.forax.vmboiler.rt.RT.LONG_SENTINEL;
 import static org.objectweb.asm.Opcodes.*;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -48,6 +58,8 @@ import com.github.forax.vmboiler.rt.RT;
  * the 3rd and the 4th arguments are two method handles, the first one will be called
  * if at least one argument doesn't match its declared type and the second will be called
  * if the return type doesn't match the result type.
+ * {@link #callStatic(String, Handle, Object[], Object, Object, Object[], Var, String, Value...)} is a variant
+ * that calls a static method directly, the invokedynamic being only used by the deoptimization path.
  * <p>{@link #move(Var, Value)} that copy the value into a variable.
  * <p>{@link #ret(Value)} that returns from the current function with the value. 
  * <p>{@link #throwIt(Value)} that throw a value and terminate the function execution. 
@@ -57,25 +69,84 @@ import com.github.forax.vmboiler.rt.RT;
  * <p>{@link #jumpIfFalse(Value, Label)} that jump if the value is false.
  * <p>{@link #lineNumber(int)} that indicate a start of a new line in the source code.
  * 
+ * <p>Intrinsics
+ * <p>{@link #intrinsic(int, Handle, Object[], Object, Object, Object[], Var, String, Value, Value)}
+ * and {@link #jumpIfTrue(int, Label, Handle, Object[], Object, Object, Object[], Var, String, Value, Value) jumpIfTrue}/
+ * {@link #jumpIfFalse(int, Label, Handle, Object[], Object, Object, Object[], Var, String, Value, Value) jumpIfFalse}
+ * with an opcode are shortcuts for a call to a 'virtual method' on two ints, the operation is done
+ * by a bytecode instruction and the call is only done in a side exit if a value doesn't store an int
+ * or if the instruction overflows.
+ * {@link #uncheckedIntrinsic(int, Var, Value, Value)} is used when the caller knows that the
+ * operation can not overflow, so there is no side exit at all.
+ * 
+ * <p>Slots
+ * <p>By default, each variable has its own slots in the local variable table for the whole method.
+ * If a variable is {@link #release(Var) released} after its last use, its slots can be reused
+ * by a variable created later with the same slot width and the object part of a mixed variable
+ * is cleared so the garbage collector can reclaim the value.
+ * 
+ * <p>Options
+ * <p>By default, a return value that doesn't fit in the primitive part of a mixed return type
+ * is signaled by throwing an {@link OptimisticError}.
+ * With the option {@link Option#CARRIER_RETURN}, the return value is stored in a per thread carrier
+ * and a sentinel value is returned instead, each call site checks if the returned value is
+ * the sentinel value and in that case get the real return value from the carrier.
+ * 
  * <p>End
  * <p>The method {@link #end()} must be called after all instructions are generated.
  * By default CodeGen delay the generation of bytecodes that handles deoptimization at the end of the method.
  * If you do not want this behavior, you can call {@link #end()} after any operations.
+ * The method {@link #end(ClassVisitor, String, String)} outlines the deoptimization paths
+ * into cold static methods to keep the current method smaller, so it has more chance
+ * to be inlined by the JIT.
  */
 public final class CodeGen {
+  /**
+   * Options that change the code generated by a CodeGen.
+   */
+  public enum Option {
+    /**
+     * Return a value that doesn't fit in an int, a long, a float or a double
+     * by storing it in a per thread carrier and returning a sentinel value
+     * instead of throwing an {@link OptimisticError}.
+     * Call sites that expect an int, a long, a float or a double checks
+     * the sentinel value, so callers and callees should be generated with this option.
+     * 
+     * <p>The sentinel values ({@link RT#INT_SENTINEL}, {@link RT#LONG_SENTINEL} and
+     * the NaNs with the bits {@link RT#FLOAT_SENTINEL_BITS} and {@link RT#DOUBLE_SENTINEL_BITS})
+     * are also valid values, a returned sentinel value is a real value if the carrier is empty.
+     * The check takes the value of the carrier so the carrier is empty after each check
+     * and a generated method that returns a sentinel value as a real value clears the carrier.
+     * The runtime must follow the same rules: a method handle that returns a value
+     * from the carrier must be called by a call site that checks the sentinel value,
+     * a method handle that converts, boxes or drops the return value without checking it
+     * loses the carried value, the sentinel value is seen as a real value and
+     * the carrier is not cleared.
+     */
+    CARRIER_RETURN
+  }
+  
   private final MethodVisitor mv;
   private final Type returnType;
+  private final boolean carrierReturn;
   private int slotCount;
-  private Runnable sideExit = () -> { /* empty */ };
+  private final HashMap<Integer, ArrayDeque<Integer>> freeSlotMap = new HashMap<>();
+  private final ArrayList<Runnable> sideExits = new ArrayList<>();
+  private ClassVisitor coldClassVisitor;
+  private String coldOwner;
+  private String coldPrefix;
+  private int coldCount;
   
   /**
   * Create a new CodeGen to generate code of a method.
   * @param mv ASM method visitor.
   * @param returnType the return type of a method.
+  * @param options the code generation options.
   */
-  public CodeGen(MethodVisitor mv, Type returnType) {
+  public CodeGen(MethodVisitor mv, Type returnType, Option... options) {
     this.mv = mv;
     this.returnType = returnType;
+    this.carrierReturn = Arrays.asList(options).contains(Option.CARRIER_RETURN);
   }
   
   /**
@@ -115,7 +186,8 @@ public final class CodeGen {
   /**
    * Create a variable attached to the current CodeGen.
    * This method first call the factory to create a variable and
-   * then assign a slot to it.
+   * then assign a slot to it, reusing the slots of a {@link #release(Var) released}
+   * variable if possible.
    * 
    * @param type type of the variable.
    * @param varFactory a factory which create a variable from a type.
@@ -123,11 +195,48 @@ public final class CodeGen {
    */
   public <T extends Type, V extends Var> V createVar(T type, Function<? super T, ? extends V> varFactory) {
     V var = varFactory.apply(type);
+    int width = width(type);
+    ArrayDeque<Integer> freeSlots = freeSlotMap.get(width);
+    if (freeSlots != null && !freeSlots.isEmpty()) {
+      var.injectSlot(freeSlots.pop());
+      return var;
+    }
     var.injectSlot(slotCount);
-    slotCount += size(type.vmType()) + (type.isMixed()? 1: 0);
+    slotCount += width;
     return var;
   }
   
+  /**
+   * Indicate that a variable will not be used anymore by the generated code,
+   * so its slots can be reused by a variable created after this call.
+   * If the variable is mixed, its object part is cleared to not keep
+   * the value reachable until the end of the method.
+   * 
+   * The caller is responsible to call this method after the last use of
+   * the variable, i.e. when the variable is not live anymore. In particular,
+   * a variable that is used in a loop must not be released inside the loop
+   * if it is defined outside of the loop.
+   * 
+   * @param var a variable created by this CodeGen.
+   */
+  public void release(Var var) {
+    int slot = var.slot();
+    Type type = var.type();
+    int width = width(type);
+    if (slot == Var.STACK_ALLOCATED || width == 0) {
+      return;
+    }
+    if (type.isMixed()) {
+      mv.visitInsn(ACONST_NULL);
+      mv.visitVarInsn(ASTORE, slot);
+    }
+    freeSlotMap.computeIfAbsent(width, key -> new ArrayDeque<>()).push(slot);
+  }
+  
+  private static int width(Type type) {
+    return size(type.vmType()) + (type.isMixed()? 1: 0);
+  }
+  
   /**
    * Copy the content of the value into the variable.
    * The type of the value must be either the same as the type of the variable
@@ -172,18 +281,40 @@ public final class CodeGen {
   public void call(Handle bsm, Object[] bsmCsts,
       Object deoptArgs, Object deoptRet, Object[] deoptCsts,
       Var result, String name, Value... values) {
+    call(null, bsm, bsmCsts, deoptArgs, deoptRet, deoptCsts, result, name, values);
+  }
+  
+  /**
+   * Call a static method directly using invokestatic.
+   * The static method must have the same semantics as the 'virtual method' returned by the bootstrap method,
+   * the 'virtual method' is only called by the deoptimization path if at least one argument doesn't match
+   * its declared type, see {@link #call(Handle, Object[], Object, Object, Object[], Var, String, Value...)}.
+   * 
+   * @param owner the internal name of the class that declares the static method.
+   * @param bsm the bootstrap method used to resolved the call in the deoptimization path.
+   * @param bsmCsts the bootstrap constant arguments passed to the bootstrap method.
+   * @param deoptArgs a method handle as a String or a {@link Handle}
+   *        that will be called if at least one argument doesn't match its declared type. 
+   * @param deoptRet a method handle as a String or a {@link Handle}
+   *        that will be called if return value doesn't match its declared type
+   * @param deoptCsts constants arguments sent as arguments of deopt methods
+   * @param result the variable that will contains the result value
+   *        (this variable can have a {@link Type#vmType()} equals to {@link Type#VM_VOID}).
+   * @param name the name of the static method.
+   * @param values the arguments of the call.
+   */
+  public void callStatic(String owner, Handle bsm, Object[] bsmCsts,
+      Object deoptArgs, Object deoptRet, Object[] deoptCsts,
+      Var result, String name, Value... values) {
+    call(owner, bsm, bsmCsts, deoptArgs, deoptRet, deoptCsts, result, name, values);
+  }
+  
+  // if owner is null, the call is an invokedynamic otherwise an invokestatic
+  private void call(String owner, Handle bsm, Object[] bsmCsts,
+      Object deoptArgs, Object deoptRet, Object[] deoptCsts,
+      Var result, String name, Value... values) {
     MethodVisitor mv = this.mv;
-    Label label = null;
-    for(Value v: values) {
-      if (v.type().isMixed()) {
-        if (label == null) {
-          label = new Label();
-        }
-        loadNone(mv);
-        mv.visitVarInsn(ALOAD, ((Var)v).slot());
-        mv.visitJumpInsn(IF_ACMPNE, label);
-      }
-    }
+    Label label = guardMixed(values);
     
     StringBuilder desc = new StringBuilder().append('(');
     for(Value v: values) {
@@ -196,70 +327,399 @@ public final class CodeGen {
     Label end = new Label();
     Label handler = new Label();
     Label sideExitBackLabel = new Label();
+    String vmType = result.type().vmType();
+    boolean carried = carrierReturn && isCarriable(vmType);
+    Label carrierCheckLabel = carried? new Label(): sideExitBackLabel;
     boolean mixed = result.type().isMixed();
     if (mixed) {
       mv.visitTryCatchBlock(start, end, handler, OPTIMISTIC_ERROR);
       mv.visitLabel(start);
     }
-    mv.visitInvokeDynamicInsn(name, desc.toString(), bsm, bsmCsts);
+    if (owner == null) {
+      mv.visitInvokeDynamicInsn(name, desc.toString(), bsm, bsmCsts);
+    } else {
+      mv.visitMethodInsn(INVOKESTATIC, owner, name, desc.toString(), false);
+    }
+    Object[] deoptRetCsts = concat(deoptRet, deoptCsts);
     if (mixed) {
       mv.visitLabel(end);
       result.storePrimitive(mv);
       loadNone(mv);
       mv.visitVarInsn(ASTORE, result.slot());
-      Runnable previousSideExit = sideExit;
-      sideExit = () -> {
-        previousSideExit.run();
-        mv.visitLabel(handler);
-        mv.visitInvokeDynamicInsn(name, "(L" + OPTIMISTIC_ERROR + ";)Ljava/lang/Object;",
-            BSM_OPTIMISTIC_FAILURE, concat(deoptRet, deoptCsts));
-        mv.visitVarInsn(ASTORE, result.slot());
-        loadZero(mv, result.type());
-        result.storePrimitive(mv);
-        mv.visitJumpInsn(GOTO, sideExitBackLabel);
-      };
+      optimisticFailure(handler, name, deoptRetCsts, result, sideExitBackLabel);
     } else {
       result.storePrimitive(mv);
     }
     
+    if (carried) {
+      mv.visitLabel(carrierCheckLabel);
+      carrierCheck(name, deoptRetCsts, result, sideExitBackLabel);
+    }
+    
     mv.visitLabel(sideExitBackLabel);
     
     if (label != null) {
-      callDeopt(label, sideExitBackLabel, handler, bsm, bsmCsts, deoptArgs, deoptCsts, result, name, values);
+      callDeopt(label, carrierCheckLabel, sideExitBackLabel, handler, bsm, bsmCsts, deoptArgs, deoptCsts, deoptRetCsts,
+          result, name, values);
     }
   }
   
-  private void callDeopt(Label sideExitStart, Label sideExitBackLabel, Label handler,
-      Handle bsm, Object[] bsmCsts, Object deoptArgs, Object[] deoptCsts,
+  // side exit that stores the value of an OptimisticError in the object part of the result
+  private void optimisticFailure(Label handler, String name, Object[] deoptRetCsts, Var result, Label sideExitBackLabel) {
+    sideExits.add(() -> optimisticFailureSideExit(handler, name, deoptRetCsts, result, sideExitBackLabel));
+  }
+  
+  private void optimisticFailureSideExit(Label handler, String name, Object[] deoptRetCsts, Var result, Label sideExitBackLabel) {
+    MethodVisitor mv = this.mv;
+    mv.visitLabel(handler);
+    invokeDeopt(name, "(L" + OPTIMISTIC_ERROR + ";)Ljava/lang/Object;",
+        BSM_OPTIMISTIC_FAILURE, deoptRetCsts);
+    mv.visitVarInsn(ASTORE, result.slot());
+    loadZero(mv, result.type());
+    result.storePrimitive(mv);
+    mv.visitJumpInsn(GOTO, sideExitBackLabel);
+  }
+  
+  // jump to the returned label if one of the mixed values doesn't store a primitive value,
+  // return null if no value is mixed
+  private Label guardMixed(Value... values) {
+    MethodVisitor mv = this.mv;
+    Label label = null;
+    for(Value v: values) {
+      if (v.type().isMixed()) {
+        if (label == null) {
+          label = new Label();
+        }
+        loadNone(mv);
+        mv.visitVarInsn(ALOAD, ((Var)v).slot());
+        mv.visitJumpInsn(IF_ACMPNE, label);
+      }
+    }
+    return label;
+  }
+  
+  /**
+   * Compute an operation on two ints with a bytecode instruction instead of calling a 'virtual method'.
+   * If one of the values doesn't store an int or if the instruction overflows, the 'virtual method'
+   * is called in a side exit like {@link #call(Handle, Object[], Object, Object, Object[], Var, String, Value...)}.
+   * 
+   * @param opcode either {@link org.objectweb.asm.Opcodes#IADD IADD}, {@code ISUB}, {@code IMUL},
+   *        {@code IDIV} or {@code IREM} if the type of the result is an int,
+   *        or a comparison from {@link org.objectweb.asm.Opcodes#IF_ICMPEQ IF_ICMPEQ} to {@code IF_ICMPLE}
+   *        if the type of the result is a boolean.
+   * @param bsm the bootstrap method used to resolved the call.
+   * @param bsmCsts the bootstrap constant arguments passed to the bootstrap method.
+   * @param deoptArgs a method handle as a String or a {@link Handle}
+   *        that will be called if at least one argument doesn't match its declared type. 
+   * @param deoptRet a method handle as a String or a {@link Handle}
+   *        that will be called if return value doesn't match its declared type
+   * @param deoptCsts constants arguments sent as arguments of deopt methods
+   * @param result the variable that will contains the result value.
+   * @param name the name of the 'virtual method'.
+   * @param left the first argument, its type must be an int.
+   * @param right the second argument, its type must be an int.
+   */
+  public void intrinsic(int opcode, Handle bsm, Object[] bsmCsts,
+      Object deoptArgs, Object deoptRet, Object[] deoptCsts,
+      Var result, String name, Value left, Value right) {
+    checkIntValues(left, right);
+    String resultVmType = (isComparison(opcode))? VM_BOOLEAN: VM_INT;
+    if (result.type().vmType() != resultVmType) {
+      throw new IllegalArgumentException("result.type must be " + resultVmType);
+    }
+    MethodVisitor mv = this.mv;
+    Label slowPathLabel = guardMixed(left, right);
+    Label overflowLabel = null;
+    switch(opcode) {
+    case IADD:
+    case ISUB:
+    case IMUL:
+      overflowLabel = new Label();
+      overflowCheck(opcode, left, right, overflowLabel);
+      break;
+    case IDIV:
+    case IREM:
+      left.loadPrimitive(mv);
+      right.loadPrimitive(mv);
+      mv.visitInsn(opcode);
+      break;
+    default: {
+      if (!isComparison(opcode)) {
+        throw new IllegalArgumentException("invalid opcode " + opcode);
+      }
+      left.loadPrimitive(mv);
+      right.loadPrimitive(mv);
+      Label trueLabel = new Label();
+      Label endLabel = new Label();
+      mv.visitJumpInsn(opcode, trueLabel);
+      mv.visitInsn(ICONST_0);
+      mv.visitJumpInsn(GOTO, endLabel);
+      mv.visitLabel(trueLabel);
+      mv.visitInsn(ICONST_1);
+      mv.visitLabel(endLabel);
+     }
+    }
+    result.storePrimitive(mv);
+    if (result.type().isMixed()) {
+      loadNone(mv);
+      mv.visitVarInsn(ASTORE, result.slot());
+    }
+    
+    if (slowPathLabel == null && overflowLabel == null) {
+      return;
+    }
+    Label sideExitBackLabel = new Label();
+    mv.visitLabel(sideExitBackLabel);
+    Label slowPath = (slowPathLabel == null)? new Label(): slowPathLabel;
+    if (overflowLabel != null) {
+      Label overflow = overflowLabel;
+      sideExits.add(() -> {
+        mv.visitLabel(overflow);
+        mv.visitInsn(POP);  // the ArithmeticException
+        mv.visitJumpInsn(GOTO, slowPath);
+      });
+    }
+    slowPath(slowPath, sideExitBackLabel, bsm, bsmCsts, deoptArgs, deoptRet, deoptCsts, result, name, left, right);
+  }
+  
+  /**
+   * Compute an operation on two ints with a bytecode instruction without checking
+   * if the instruction overflows, the caller must have proven that the result always fits in an int.
+   * 
+   * @param opcode either {@link org.objectweb.asm.Opcodes#IADD IADD}, {@code ISUB} or {@code IMUL}.
+   * @param result the variable that will contains the result value, its type must be an int and not mixed.
+   * @param left the first argument, its type must be an int and not mixed.
+   * @param right the second argument, its type must be an int and not mixed.
+   */
+  public void uncheckedIntrinsic(int opcode, Var result, Value left, Value right) {
+    checkIntValues(left, right);
+    if (left.type().isMixed() || right.type().isMixed()) {
+      throw new IllegalArgumentException("value.type must not be mixed");
+    }
+    if (result.type().vmType() != VM_INT || result.type().isMixed()) {
+      throw new IllegalArgumentException("result.type must be a non mixed int");
+    }
+    if (opcode != IADD && opcode != ISUB && opcode != IMUL) {
+      throw new IllegalArgumentException("invalid opcode " + opcode);
+    }
+    MethodVisitor mv = this.mv;
+    left.loadPrimitive(mv);
+    right.loadPrimitive(mv);
+    mv.visitInsn(opcode);
+    result.storePrimitive(mv);
+  }
+  
+  // the slow path of an intrinsic is the deoptimization path of a call,
+  // so there is only one invokedynamic per intrinsic
+  private void slowPath(Label slowPath, Label sideExitBackLabel, Handle bsm, Object[] bsmCsts,
+      Object deoptArgs, Object deoptRet, Object[] deoptCsts,
+      Var result, String name, Value... values) {
+    MethodVisitor mv = this.mv;
+    Object[] deoptRetCsts = concat(deoptRet, deoptCsts);
+    Label handler = new Label();
+    // if the side exits are outlined, the outlined method of callDeopt handles the optimistic failure
+    // and checks the sentinel value, so the handler and the carrier check are not generated
+    if (result.type().isMixed()) {
+      sideExits.add(() -> {
+        if (coldClassVisitor == null) {
+          optimisticFailureSideExit(handler, name, deoptRetCsts, result, sideExitBackLabel);
+        }
+      });
+    }
+    Label backLabel = sideExitBackLabel;
+    if (carrierReturn && isCarriable(result.type().vmType())) {
+      Label carrierCheckLabel = new Label();
+      sideExits.add(() -> {
+        if (coldClassVisitor != null) {
+          return;
+        }
+        mv.visitLabel(carrierCheckLabel);
+        carrierCheck(name, deoptRetCsts, result, sideExitBackLabel);
+        mv.visitJumpInsn(GOTO, sideExitBackLabel);
+      });
+      backLabel = carrierCheckLabel;
+    }
+    callDeopt(slowPath, backLabel, sideExitBackLabel, handler, bsm, bsmCsts, deoptArgs, deoptCsts, deoptRetCsts,
+        result, name, values);
+  }
+  
+  private static void checkIntValues(Value left, Value right) {
+    for(Value v: new Value[] { left, right }) {
+      if (v.type().vmType() != VM_INT) {
+        throw new IllegalArgumentException("value.type must be an int");
+      }
+      if (v instanceof Var && ((Var)v).slot() == Var.STACK_ALLOCATED) {
+        throw new IllegalArgumentException("value must not be stack allocated");
+      }
+    }
+  }
+  
+  private static boolean isComparison(int opcode) {
+    return opcode >= IF_ICMPEQ && opcode <= IF_ICMPLE;
+  }
+  
+  // compute the result of the operation with Math.addExact/subtractExact/multiplyExact
+  // (that are intrinsified by the JIT) and jump to the label with an ArithmeticException on stack
+  // if the result doesn't fit in an int
+  private void overflowCheck(int opcode, Value left, Value right, Label label) {
+    MethodVisitor mv = this.mv;
+    Label start = new Label();
+    Label end = new Label();
+    mv.visitTryCatchBlock(start, end, label, "java/lang/ArithmeticException");
+    left.loadPrimitive(mv);
+    right.loadPrimitive(mv);
+    mv.visitLabel(start);
+    String name = (opcode == IADD)? "addExact": (opcode == ISUB)? "subtractExact": "multiplyExact";
+    mv.visitMethodInsn(INVOKESTATIC, "java/lang/Math", name, "(II)I", false);
+    mv.visitLabel(end);
+  }
+  
+  private static boolean isCarriable(String vmType) {
+    return vmType == VM_INT || vmType == VM_LONG || vmType == VM_FLOAT || vmType == VM_DOUBLE;
+  }
+  
+  // check if the returned value is the sentinel value and in that case
+  // either store the value of the carrier in the mixed result or re-throw it as an OptimisticError 
+  private void carrierCheck(String name, Object[] deoptRetCsts, Var result, Label sideExitBackLabel) {
+    MethodVisitor mv = this.mv;
+    String vmType = result.type().vmType();
+    Label carrierLabel = new Label();
+    if (result.slot() == Var.STACK_ALLOCATED) {
+      mv.visitInsn((size(vmType) == 2)? DUP2: DUP);
+    } else {
+      result.loadPrimitive(mv);
+    }
+    jumpIfSentinel(mv, vmType, carrierLabel);
+    sideExits.add(() -> {
+      mv.visitLabel(carrierLabel);
+      if (coldClassVisitor != null) {
+        outlineCarrierCheck(name, deoptRetCsts, result);
+        mv.visitJumpInsn(GOTO, sideExitBackLabel);
+        return;
+      }
+      mv.visitMethodInsn(INVOKESTATIC, RT, "takeCarried", "()Ljava/lang/Object;", false);
+      mv.visitInsn(DUP);
+      loadNone(mv);
+      Label notNoneLabel = new Label();
+      mv.visitJumpInsn(IF_ACMPNE, notNoneLabel);
+      mv.visitInsn(POP);         // the sentinel was a real value
+      mv.visitJumpInsn(GOTO, sideExitBackLabel);
+      mv.visitLabel(notNoneLabel);
+      newOptimisticError(mv);
+      if (!result.type().isMixed()) {
+        mv.visitInsn(ATHROW);
+        return;
+      }
+      invokeDeopt(name, "(L" + OPTIMISTIC_ERROR + ";)Ljava/lang/Object;",
+          BSM_OPTIMISTIC_FAILURE, deoptRetCsts);
+      mv.visitVarInsn(ASTORE, result.slot());
+      loadZero(mv, result.type());
+      result.storePrimitive(mv);
+      mv.visitJumpInsn(GOTO, sideExitBackLabel);
+    });
+  }
+  
+  // outline the side exit of carrierCheck, the outlined method returns either NONE
+  // or the object part of the mixed result, if the result is not mixed it returns nothing
+  private void outlineCarrierCheck(String name, Object[] deoptRetCsts, Var result) {
+    boolean mixed = result.type().isMixed();
+    String desc = mixed? "()Ljava/lang/Object;": "()V";
+    String coldName = outline(desc, cold -> {
+      cold.visitMethodInsn(INVOKESTATIC, RT, "takeCarried", "()Ljava/lang/Object;", false);
+      cold.visitInsn(DUP);
+      loadNone(cold);
+      Label notNoneLabel = new Label();
+      cold.visitJumpInsn(IF_ACMPNE, notNoneLabel);
+      cold.visitInsn(mixed? ARETURN: RETURN);   // the sentinel was a real value
+      cold.visitLabel(notNoneLabel);
+      newOptimisticError(cold);
+      if (!mixed) {
+        cold.visitInsn(ATHROW);
+        return;
+      }
+      cold.visitInvokeDynamicInsn(name, "(L" + OPTIMISTIC_ERROR + ";)Ljava/lang/Object;",
+          BSM_OPTIMISTIC_FAILURE, deoptRetCsts);
+      cold.visitInsn(ARETURN);
+    });
+    mv.visitMethodInsn(INVOKESTATIC, coldOwner, coldName, desc, false);
+    if (mixed) {
+      // the primitive part already stores the sentinel value
+      mv.visitVarInsn(ASTORE, result.slot());
+    }
+  }
+  
+  private static void jumpIfSentinel(MethodVisitor mv, String vmType, Label label) {
+    switch(vmType) {
+    case VM_INT:
+      mv.visitLdcInsn(INT_SENTINEL);
+      mv.visitJumpInsn(IF_ICMPEQ, label);
+      return;
+    case VM_LONG:
+      mv.visitLdcInsn(LONG_SENTINEL);
+      mv.visitInsn(LCMP);
+      mv.visitJumpInsn(IFEQ, label);
+      return;
+    case VM_FLOAT:
+      mv.visitMethodInsn(INVOKESTATIC, "java/lang/Float", "floatToRawIntBits", "(F)I", false);
+      mv.visitLdcInsn(FLOAT_SENTINEL_BITS);
+      mv.visitJumpInsn(IF_ICMPEQ, label);
+      return;
+    case VM_DOUBLE:
+      mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "doubleToRawLongBits", "(D)J", false);
+      mv.visitLdcInsn(DOUBLE_SENTINEL_BITS);
+      mv.visitInsn(LCMP);
+      mv.visitJumpInsn(IFEQ, label);
+      return;
+    default:
+      throw new AssertionError("no sentinel for " + vmType);
+    }
+  }
+  
+  // coldBackLabel is the label after the carrier check, it is used if the side exit is outlined
+  // because the outlined method already checks if the returned value is the sentinel value
+  private void callDeopt(Label sideExitStart, Label sideExitBackLabel, Label coldBackLabel, Label handler,
+      Handle bsm, Object[] bsmCsts, Object deoptArgs, Object[] deoptCsts, Object[] deoptRetCsts,
       Var result, String name, Value[] values) {
     MethodVisitor mv = this.mv;
-    Runnable previousSideExit = sideExit;
-    sideExit = () -> {
-      previousSideExit.run();
+    StringBuilder desc = new StringBuilder().append('(');
+    StringBuilder mixedDesc = new StringBuilder();
+    for(Value v: values) {
+      Type type = v.type();
+      desc.append(type.vmType());
+      if (type.isMixed()) {
+        desc.append("Ljava/lang/Object;");
+        mixedDesc.append('M');
+      } else {
+        mixedDesc.append('.');
+      }
+    }
+    desc.append(')').append(result.type().vmType());
+    String deoptDesc = desc.toString();
+    Object[] deoptArgsCsts = concat(mixedDesc.toString(), bsm, bsmCsts.length, deoptArgs, bsmCsts, deoptCsts);
+    sideExits.add(() -> {
       mv.visitLabel(sideExitStart);
-      StringBuilder desc2 = new StringBuilder().append('(');
-      StringBuilder mixedDesc = new StringBuilder();
       for(Value v: values) {
         v.loadAll(mv);
-        Type type = v.type();
-        desc2.append(type.vmType());
-        if (type.isMixed()) {
-          desc2.append("Ljava/lang/Object;");
-          mixedDesc.append('M');
-        } else {
-          mixedDesc.append('.');
+      }
+      boolean mixed = result.type().isMixed();
+      if (coldClassVisitor != null) {
+        String coldName = outlineDeopt(name, deoptDesc, deoptArgsCsts, deoptRetCsts, result.type());
+        mv.visitMethodInsn(INVOKESTATIC, coldOwner, coldName, deoptDesc, false);
+        result.storePrimitive(mv);
+        if (mixed) {
+          mv.visitMethodInsn(INVOKESTATIC, RT, "takeCarried", "()Ljava/lang/Object;", false);
+          mv.visitVarInsn(ASTORE, result.slot());
         }
+        mv.visitJumpInsn(GOTO, coldBackLabel);
+        return;
       }
-      desc2.append(')').append(result.type().vmType());
       Label start = new Label();
       Label end = new Label();
-      boolean mixed = result.type().isMixed();
       if (mixed) {
         mv.visitTryCatchBlock(start, end, handler, OPTIMISTIC_ERROR);
         mv.visitLabel(start);
       }
-      mv.visitInvokeDynamicInsn(name, desc2.toString(), BSM,
-          concat(mixedDesc.toString(), bsm, bsmCsts.length, deoptArgs, bsmCsts, deoptCsts));
+      invokeDeopt(name, deoptDesc, BSM, deoptArgsCsts);
       if (mixed) {
         mv.visitLabel(end);
         result.storePrimitive(mv);
@@ -269,9 +729,105 @@ public final class CodeGen {
         result.storePrimitive(mv);
       }
       mv.visitJumpInsn(GOTO, sideExitBackLabel);
-    };
+    });
   }
-
+  
+  private void invokeDeopt(String name, String desc, Handle bsm, Object[] bsmCsts) {
+    if (coldClassVisitor == null) {
+      mv.visitInvokeDynamicInsn(name, desc, bsm, bsmCsts);
+      return;
+    }
+    
+    // outline the invokedynamic into a static method that just forward its arguments
+    String coldName = outline(desc, cold -> {
+      loadArguments(cold, desc);
+      cold.visitInvokeDynamicInsn(name, desc, bsm, bsmCsts);
+      cold.visitInsn(org.objectweb.asm.Type.getReturnType(desc).getOpcode(IRETURN));
+    });
+    mv.visitMethodInsn(INVOKESTATIC, coldOwner, coldName, desc, false);
+  }
+  
+  // outline the whole deoptimization path of a call, the outlined method calls the 'virtual method',
+  // checks the sentinel value and handles the optimistic failure;
+  // if the result is mixed, its object part is sent back in the carrier, see RT.carry(Object)
+  private String outlineDeopt(String name, String deoptDesc, Object[] deoptArgsCsts, Object[] deoptRetCsts, Type type) {
+    return outline(deoptDesc, cold -> {
+      String vmType = type.vmType();
+      boolean mixed = type.isMixed();
+      Label start = new Label();
+      Label end = new Label();
+      Label handler = new Label();
+      loadArguments(cold, deoptDesc);
+      if (mixed) {
+        cold.visitTryCatchBlock(start, end, handler, OPTIMISTIC_ERROR);
+        cold.visitLabel(start);
+      }
+      cold.visitInvokeDynamicInsn(name, deoptDesc, BSM, deoptArgsCsts);
+      if (mixed) {
+        cold.visitLabel(end);
+      }
+      if (carrierReturn && isCarriable(vmType)) {
+        Label carrierLabel = new Label();
+        cold.visitInsn((size(vmType) == 2)? DUP2: DUP);
+        jumpIfSentinel(cold, vmType, carrierLabel);
+        cold.visitInsn(returnOpcode(vmType));
+        cold.visitLabel(carrierLabel);
+        cold.visitMethodInsn(INVOKESTATIC, RT, "takeCarried", "()Ljava/lang/Object;", false);
+        cold.visitInsn(DUP);
+        loadNone(cold);
+        Label notNoneLabel = new Label();
+        cold.visitJumpInsn(IF_ACMPNE, notNoneLabel);
+        cold.visitInsn(POP);         // the sentinel was a real value
+        cold.visitInsn(returnOpcode(vmType));
+        cold.visitLabel(notNoneLabel);
+        if (size(vmType) == 2) {     // remove the sentinel
+          cold.visitInsn(DUP_X2);
+          cold.visitInsn(POP);
+          cold.visitInsn(POP2);
+        } else {
+          cold.visitInsn(SWAP);
+          cold.visitInsn(POP);
+        }
+        newOptimisticError(cold);
+        if (!mixed) {
+          cold.visitInsn(ATHROW);
+          return;
+        }
+        cold.visitJumpInsn(GOTO, handler);
+      } else {
+        cold.visitInsn(returnOpcode(vmType));
+      }
+      if (mixed) {
+        cold.visitLabel(handler);
+        cold.visitInvokeDynamicInsn(name, "(L" + OPTIMISTIC_ERROR + ";)Ljava/lang/Object;",
+            BSM_OPTIMISTIC_FAILURE, deoptRetCsts);
+        cold.visitMethodInsn(INVOKESTATIC, RT, "carry", "(Ljava/lang/Object;)V", false);
+        loadZero(cold, type);
+        cold.visitInsn(returnOpcode(vmType));
+      }
+    });
+  }
+  
+  // create a static method in the class of the current method and returns its name,
+  // the maximum stack size and the stack map frames are computed by the ClassWriter
+  private String outline(String desc, Consumer<MethodVisitor> body) {
+    String coldName = coldPrefix + coldCount++;
+    MethodVisitor cold = coldClassVisitor.visitMethod(ACC_PRIVATE|ACC_STATIC|ACC_SYNTHETIC, coldName, desc, null, null);
+    cold.visitCode();
+    body.accept(cold);
+    cold.visitMaxs(0, 0);
+    cold.visitEnd();
+    return coldName;
+  }
+  
+  private static void loadArguments(MethodVisitor mv, String desc) {
+    int slot = 0;
+    for(org.objectweb.asm.Type type: org.objectweb.asm.Type.getArgumentTypes(desc)) {
+      mv.visitVarInsn(type.getOpcode(ILOAD), slot);
+      slot += type.getSize();
+    }
+  }
+  
   private static Object[] concat(Object o, Object[] array) {
     int length = array.length;
     Object[] newArray = new Object[length + 1];
@@ -307,7 +863,7 @@ public final class CodeGen {
     
     if (!valueType.isMixed()) {
       value.loadPrimitive(mv);
-      mv.visitInsn(returnOpcode(valueType.vmType()));
+      returnPrimitive(valueType.vmType());
       return;
     }
     Var var = (Var)value;
@@ -317,12 +873,56 @@ public final class CodeGen {
     Label endLabel = new Label();
     mv.visitJumpInsn(IF_ACMPNE, endLabel);
     mv.visitVarInsn(loadOpcode(valueType.vmType()), slot + 1);
-    mv.visitInsn(returnOpcode(valueType.vmType()));
+    returnPrimitive(valueType.vmType());
     mv.visitLabel(endLabel);
     mv.visitVarInsn(ALOAD, slot);
+    String vmType = valueType.vmType();
+    if (carrierReturn && isCarriable(vmType)) {
+      carry(mv, vmType);
+      mv.visitInsn(returnOpcode(vmType));
+      return;
+    }
     CodeGen.newOptimisticError(mv);
     mv.visitInsn(ATHROW);
   }
+  
+  // with the carrier, a returned value equals to the sentinel value is a real value
+  // only if the carrier is empty, so the carrier is cleared in a side exit
+  private void returnPrimitive(String vmType) {
+    MethodVisitor mv = this.mv;
+    if (carrierReturn && isCarriable(vmType)) {
+      Label sentinelLabel = new Label();
+      mv.visitInsn((size(vmType) == 2)? DUP2: DUP);
+      jumpIfSentinel(mv, vmType, sentinelLabel);
+      sideExits.add(() -> {
+        mv.visitLabel(sentinelLabel);
+        mv.visitMethodInsn(INVOKESTATIC, RT, "clearCarrier", "()V", false);
+        mv.visitInsn(returnOpcode(vmType));
+      });
+    }
+    mv.visitInsn(returnOpcode(vmType));
+  }
+  
+  private static void carry(MethodVisitor mv, String vmType) {
+    String name;
+    switch(vmType) {
+    case VM_INT:
+      name = "carryInt";
+      break;
+    case VM_LONG:
+      name = "carryLong";
+      break;
+    case VM_FLOAT:
+      name = "carryFloat";
+      break;
+    case VM_DOUBLE:
+      name = "carryDouble";
+      break;
+    default:
+      throw new AssertionError("no carrier for " + vmType);
+    }
+    mv.visitMethodInsn(INVOKESTATIC, RT, name, "(Ljava/lang/Object;)" + vmType, false);
+  }
 
   
   /**
@@ -375,6 +975,91 @@ public final class CodeGen {
     mv.visitJumpInsn(IFEQ, label);
   }
   
+  /**
+   * Jump to the label if the comparison of two ints is true, the comparison and the jump
+   * are done by the same bytecode instruction.
+   * If one of the values doesn't store an int, the 'virtual method' that does the comparison is called
+   * in a side exit like {@link #call(Handle, Object[], Object, Object, Object[], Var, String, Value...)}
+   * and the jump is done if the result is true.
+   * 
+   * @param opcode a comparison from {@link org.objectweb.asm.Opcodes#IF_ICMPEQ IF_ICMPEQ} to {@code IF_ICMPLE}.
+   * @param label an ASM label.
+   * @param bsm the bootstrap method used to resolved the call.
+   * @param bsmCsts the bootstrap constant arguments passed to the bootstrap method.
+   * @param deoptArgs a method handle as a String or a {@link Handle}
+   *        that will be called if at least one argument doesn't match its declared type. 
+   * @param deoptRet a method handle as a String or a {@link Handle}
+   *        that will be called if return value doesn't match its declared type
+   * @param deoptCsts constants arguments sent as arguments of deopt methods
+   * @param result the variable that will contains the result of the call, its type must be a boolean.
+   * @param name the name of the 'virtual method'.
+   * @param left the first argument, its type must be an int.
+   * @param right the second argument, its type must be an int.
+   */
+  public void jumpIfTrue(int opcode, Label label, Handle bsm, Object[] bsmCsts,
+      Object deoptArgs, Object deoptRet, Object[] deoptCsts,
+      Var result, String name, Value left, Value right) {
+    jumpIf(opcode, true, label, bsm, bsmCsts, deoptArgs, deoptRet, deoptCsts, result, name, left, right);
+  }
+  
+  /**
+   * Jump to the label if the comparison of two ints is false, the comparison and the jump
+   * are done by the same bytecode instruction.
+   * If one of the values doesn't store an int, the 'virtual method' that does the comparison is called
+   * in a side exit like {@link #call(Handle, Object[], Object, Object, Object[], Var, String, Value...)}
+   * and the jump is done if the result is false.
+   * 
+   * @param opcode a comparison from {@link org.objectweb.asm.Opcodes#IF_ICMPEQ IF_ICMPEQ} to {@code IF_ICMPLE}.
+   * @param label an ASM label.
+   * @param bsm the bootstrap method used to resolved the call.
+   * @param bsmCsts the bootstrap constant arguments passed to the bootstrap method.
+   * @param deoptArgs a method handle as a String or a {@link Handle}
+   *        that will be called if at least one argument doesn't match its declared type. 
+   * @param deoptRet a method handle as a String or a {@link Handle}
+   *        that will be called if return value doesn't match its declared type
+   * @param deoptCsts constants arguments sent as arguments of deopt methods
+   * @param result the variable that will contains the result of the call, its type must be a boolean.
+   * @param name the name of the 'virtual method'.
+   * @param left the first argument, its type must be an int.
+   * @param right the second argument, its type must be an int.
+   */
+  public void jumpIfFalse(int opcode, Label label, Handle bsm, Object[] bsmCsts,
+      Object deoptArgs, Object deoptRet, Object[] deoptCsts,
+      Var result, String name, Value left, Value right) {
+    jumpIf(opcode, false, label, bsm, bsmCsts, deoptArgs, deoptRet, deoptCsts, result, name, left, right);
+  }
+  
+  private void jumpIf(int opcode, boolean jumpIfTrue, Label label, Handle bsm, Object[] bsmCsts,
+      Object deoptArgs, Object deoptRet, Object[] deoptCsts,
+      Var result, String name, Value left, Value right) {
+    if (!isComparison(opcode)) {
+      throw new IllegalArgumentException("invalid opcode " + opcode);
+    }
+    if (result.type().vmType() != VM_BOOLEAN) {
+      throw new IllegalArgumentException("result.type must be a boolean");
+    }
+    checkIntValues(left, right);
+    MethodVisitor mv = this.mv;
+    Label slowPathLabel = guardMixed(left, right);
+    left.loadPrimitive(mv);
+    right.loadPrimitive(mv);
+    // IF_ICMPEQ/IF_ICMPNE, IF_ICMPLT/IF_ICMPGE and IF_ICMPGT/IF_ICMPLE are pairs of opposite comparisons
+    mv.visitJumpInsn(jumpIfTrue? opcode: IF_ICMPEQ + ((opcode - IF_ICMPEQ) ^ 1), label);
+    if (slowPathLabel == null) {
+      return;
+    }
+    Label sideExitBackLabel = new Label();
+    mv.visitLabel(sideExitBackLabel);
+    Label branchLabel = new Label();
+    sideExits.add(() -> {
+      mv.visitLabel(branchLabel);
+      result.loadPrimitive(mv);
+      mv.visitJumpInsn(jumpIfTrue? IFNE: IFEQ, label);
+      mv.visitJumpInsn(GOTO, sideExitBackLabel);
+    });
+    slowPath(slowPathLabel, branchLabel, bsm, bsmCsts, deoptArgs, deoptRet, deoptCsts, result, name, left, right);
+  }
+  
   //public void jumpIfNull(Value value, Label label);
   //public void jumpIfNonNull(Value value, Label label);
   
@@ -404,8 +1089,33 @@ public final class CodeGen {
    * End by generating all the code that handle deoptimization paths.
    */
   public void end() {
-    sideExit.run();
-    sideExit = () -> { /* empty */ };
+    ArrayList<Runnable> sideExits = this.sideExits;
+    for(int i = 0; i < sideExits.size(); i++) {
+      sideExits.get(i).run();
+    }
+    sideExits.clear();
+  }
+  
+  /**
+   * End by generating all the code that handle deoptimization paths,
+   * these paths being outlined into cold static methods.
+   * The current method only keeps the guards and a call to an outlined method,
+   * the results being stored back into the variables of the current method.
+   * The outlined methods are generated without their maximum stack size and
+   * their stack map frames, so the class writer must compute them
+   * (see {@link org.objectweb.asm.ClassWriter#COMPUTE_FRAMES}).
+   * 
+   * @param cv the ASM class visitor of the class that contains the current method.
+   * @param owner the internal name of the class that contains the current method.
+   * @param prefix the prefix of the names of the outlined methods,
+   *        it must not be used by any other methods of the class.
+   */
+  public void end(ClassVisitor cv, String owner, String prefix) {
+    coldClassVisitor = cv;
+    coldOwner = owner;
+    coldPrefix = prefix;
+    end();
+    coldClassVisitor = null;
   }
   
   private static final String RT = RT.class.getName().replace('.', '/');
@@ -3,26 +3,79 @@ package com.github.forax.vmboiler.rt;
 /**
  * An exception that must be thrown is the return type
  * doesn't allow to store the return value.
+ *
+ * The return value can be a long or a double, in that case
+ * the value is not boxed until {@link #value()} is called.
  */
 public final class OptimisticError extends Error {
   private static final long serialVersionUID = 9149565412323824897L;
-  
+
+  private static final char KIND_OBJECT = 'L';
+  private static final char KIND_LONG = 'J';
+  private static final char KIND_DOUBLE = 'D';
+
   private final Object value;
+  private final long bits;     // the long value or the raw bits of the double value
+  private final char kind;
 
-  private OptimisticError(Object value) {
+  private OptimisticError(Object value, long bits, char kind) {
     super(null, null, false, false);
     this.value = value;
+    this.bits = bits;
+    this.kind = kind;
   }
 
   /**
-   * Returns the return value of the method call.
+   * Returns the return value of the method call,
+   * boxed if the return value is a long or a double.
    * @return the return value of the method call.
    */
   // called by generated code
   public Object value() {
-    return value;
+    switch(kind) {
+    case KIND_LONG:
+      return bits;
+    case KIND_DOUBLE:
+      return Double.longBitsToDouble(bits);
+    default:
+      return value;
+    }
+  }
+
+  /**
+   * Returns the return value of the method call as a long.
+   * @return the return value of the method call as a long.
+   * @throws ClassCastException if the return value is not a long, a double or a {@link Number}.
+   */
+  // called by generated code
+  public long longValue() {
+    switch(kind) {
+    case KIND_LONG:
+      return bits;
+    case KIND_DOUBLE:
+      return (long)Double.longBitsToDouble(bits);
+    default:
+      return ((Number)value).longValue();
+    }
   }
-  
+
+  /**
+   * Returns the return value of the method call as a double.
+   * @return the return value of the method call as a double.
+   * @throws ClassCastException if the return value is not a long, a double or a {@link Number}.
+   */
+  // called by generated code
+  public double doubleValue() {
+    switch(kind) {
+    case KIND_LONG:
+      return bits;
+    case KIND_DOUBLE:
+      return Double.longBitsToDouble(bits);
+    default:
+      return ((Number)value).doubleValue();
+    }
+  }
+
   /**
    * Create a new {@link OptimisticError}.
    * @param value the return value of the method call.
@@ -30,6 +83,39 @@ public final class OptimisticError extends Error {
    */
   // called by generated code
   public static OptimisticError newOptimisticError(Object value) {
-    return new OptimisticError(value);
+    return new OptimisticError(value, 0L, KIND_OBJECT);
+  }
+
+  /**
+   * Create a new {@link OptimisticError} with an int return value,
+   * the value is boxed as an {@link Integer} like with {@link #newOptimisticError(Object)}
+   * and not widened to a long.
+   * @param value the return value of the method call.
+   * @return a newly created {@link OptimisticError}.
+   */
+  public static OptimisticError newOptimisticError(int value) {
+    return new OptimisticError(value, 0L, KIND_OBJECT);
+  }
+
+  /**
+   * Create a new {@link OptimisticError} with a long return value,
+   * the value is not boxed.
+   * @param value the return value of the method call.
+   * @return a newly created {@link OptimisticError}.
+   */
+  // called by generated code
+  public static OptimisticError newOptimisticError(long value) {
+    return new OptimisticError(null, value, KIND_LONG);
+  }
+
+  /**
+   * Create a new {@link OptimisticError} with a double return value,
+   * the value is not boxed.
+   * @param value the return value of the method call.
+   * @return a newly created {@link OptimisticError}.
+   */
+  // called by generated code
+  public static OptimisticError newOptimisticError(double value) {
+    return new OptimisticError(null, Double.doubleToRawLongBits(value), KIND_DOUBLE);
   }
-}
\ No newline at end of file
+}
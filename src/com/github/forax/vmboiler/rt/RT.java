@@ -8,6 +8,8 @@ import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.invoke.MethodType;
 import java.lang.invoke.MutableCallSite;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 
 /**
  * The runtime support that handle the dynamic part of the deoptimization.
@@ -68,11 +70,14 @@ public final class RT {
       deoptArgs = MethodHandles.insertArguments(deoptArgs, 1, deoptArgsCsts);
     }
     
+    // the adapter is built once at link time, it doesn't allocate an array per call,
+    // an array is only created to call deoptArgs, until it asks to not be called anymore
     MethodHandle target = callSite.dynamicInvoker();
-    target = target.asSpreader(Object[].class, mixed.length());
-    target = deoptCallback(target, deoptArgs);
-    target = MethodHandles.filterReturnValue(DECODE_MIXED_VALUES.bindTo(mixed), target);
-    target = target.asCollector(Object[].class, methodType.parameterCount());
+    MethodType decodedType = target.type();
+    target = deoptCallback(target, deoptArgs
+        .asCollector(Object[].class, decodedType.parameterCount())
+        .asType(decodedType.changeReturnType(boolean.class)));
+    target = unmixArguments(mixed, methodType, target);
     target = target.asType(methodType);
     
     return new ConstantCallSite(target);
@@ -85,7 +90,9 @@ public final class RT {
    * @param lookup the lookup object.
    * @param name the name of the method
    * @param methodType always (Object)OptimisiticError
-   * @param deoptRet the callback to cause to indicate a deopt error.
+   * @param deoptRet the callback to cause to indicate a deopt error,
+   *        if the type of its last parameter is long or double, the return value
+   *        is sent to the callback without being boxed.
    * @param deoptRetCsts the constant arguments of deoptRet
    * @return a call site
    * @throws Throwable if an error occurs
@@ -107,17 +114,26 @@ public final class RT {
       deoptRet = MethodHandles.insertArguments(deoptRet, 1, deoptRetCsts);
     }
     
-    return new ConstantCallSite(
-        MethodHandles.filterReturnValue(OPTIMISTIC_ERROR_VALUE,
-            deoptCallback(MethodHandles.identity(Object.class), deoptRet)));
+    // send the return value to the callback with the type it expects
+    MethodType deoptRetType = deoptRet.type();
+    Class<?> valueType = deoptRetType.parameterType(deoptRetType.parameterCount() - 1);
+    MethodHandle extractor = OPTIMISTIC_ERROR_EXTRACTOR_MAP.getOrDefault(valueType, OPTIMISTIC_ERROR_VALUE);
+    deoptRet = MethodHandles.filterArguments(
+        deoptRet.asType(MethodType.methodType(boolean.class, extractor.type().returnType())), 0, extractor);
+    MethodHandle target = deoptCallback(OPTIMISTIC_ERROR_VALUE, deoptRet);
+    return new ConstantCallSite(target.asType(methodType));
   }
   
   
   private static MethodHandle deoptCallback(MethodHandle target, MethodHandle deoptCallback) {
     MutableCallSite callSite = new MutableCallSite(target);
-    Class<?> parameterType = target.type().parameterType(0);
-    MethodHandle unit = MethodHandles.identity(parameterType).asType(MethodType.methodType(void.class, parameterType));
-    MethodHandle fallback = MethodHandles.dropArguments(SET_TARGET.bindTo(callSite).bindTo(target), 0, parameterType);
+    List<Class<?>> parameterTypes = target.type().parameterList();
+    Class<?> firstType = parameterTypes.get(0);
+    List<Class<?>> otherTypes = parameterTypes.subList(1, parameterTypes.size());
+    MethodHandle unit = MethodHandles.dropArguments(
+        MethodHandles.identity(firstType).asType(MethodType.methodType(void.class, firstType)),
+        1, otherTypes);
+    MethodHandle fallback = MethodHandles.dropArguments(SET_TARGET.bindTo(callSite).bindTo(target), 0, parameterTypes);
     callSite.setTarget(MethodHandles.foldArguments(target, MethodHandles.guardWithTest(deoptCallback, unit, fallback)));
     return callSite.dynamicInvoker();
   }
@@ -148,22 +164,47 @@ public final class RT {
     return MethodType.methodType(methodType.returnType(), parameterTypes);
   }
   
-  @SuppressWarnings("unused")  // called by a method handle
-  private static Object[] decodeMixedValues(String mixed, Object[] args) {
+  // combine the primitive part and the object part of each mixed argument into one object
+  private static MethodHandle unmixArguments(String mixed, MethodType methodType, MethodHandle target) {
     int length = mixed.length();
-    Object[] newArgs = new Object[length];
     int a = 0;
     for(int i = 0; i < length; i++) {
       if (mixed.charAt(i) == 'M') {
-        newArgs[i] = unmix(args[a], args[a + 1]);
+        target = MethodHandles.collectArguments(target, a, unmix(methodType.parameterType(a)));
         a += 2;
       } else {
-        newArgs[i] = args[a++];
+        a++;
       }
     }
-    return newArgs;
+    return target;
   }
   
+  private static MethodHandle unmix(Class<?> primitiveType) {
+    MethodHandle unmix = UNMIX_MAP.get(primitiveType);
+    if (unmix == null) {
+      unmix = UNMIX_MAP.get(Object.class).asType(MethodType.methodType(Object.class, primitiveType, Object.class));
+    }
+    return unmix;
+  }
+  
+  // the primitive value is only boxed if the object part is NONE
+  @SuppressWarnings("unused")  // called by a method handle
+  private static Object unmix(int prim, Object ref) {
+    return (ref == NONE)? prim: ref;
+  }
+  @SuppressWarnings("unused")  // called by a method handle
+  private static Object unmix(long prim, Object ref) {
+    return (ref == NONE)? prim: ref;
+  }
+  @SuppressWarnings("unused")  // called by a method handle
+  private static Object unmix(float prim, Object ref) {
+    return (ref == NONE)? prim: ref;
+  }
+  @SuppressWarnings("unused")  // called by a method handle
+  private static Object unmix(double prim, Object ref) {
+    return (ref == NONE)? prim: ref;
+  }
+  @SuppressWarnings("unused")  // called by a method handle
   private static Object unmix(Object prim, Object ref) {
     return (ref == NONE)? prim: ref;
   }
@@ -175,16 +216,138 @@ public final class RT {
   // used by generated code
   public static final Object NONE = new Object();
   
-  private static final MethodHandle DECODE_MIXED_VALUES, OPTIMISTIC_ERROR_VALUE;
+  /**
+   * Sentinel value returned by a method that returns an int
+   * if the return value is stored in the carrier.
+   */
+  // used by generated code
+  public static final int INT_SENTINEL = Integer.MIN_VALUE;
+  /**
+   * Sentinel value returned by a method that returns a long
+   * if the return value is stored in the carrier.
+   */
+  // used by generated code
+  public static final long LONG_SENTINEL = Long.MIN_VALUE;
+  /**
+   * Bits of the sentinel value (a NaN) returned by a method that returns a float
+   * if the return value is stored in the carrier.
+   */
+  // used by generated code
+  public static final int FLOAT_SENTINEL_BITS = 0x7fc0cafe;
+  /**
+   * Bits of the sentinel value (a NaN) returned by a method that returns a double
+   * if the return value is stored in the carrier.
+   */
+  // used by generated code
+  public static final long DOUBLE_SENTINEL_BITS = 0x7ff8cafecafecafeL;
+  
+  // one slot per thread that stores a return value that doesn't fit in the return type
+  private static final ThreadLocal<Object[]> CARRIER = ThreadLocal.withInitial(() -> new Object[] { NONE });
+  
+  /**
+   * Store the value in the carrier of the current thread and
+   * returns {@link #INT_SENTINEL}.
+   * @param value a return value that doesn't fit in an int.
+   * @return {@link #INT_SENTINEL}.
+   */
+  // called by generated code
+  public static int carryInt(Object value) {
+    CARRIER.get()[0] = value;
+    return INT_SENTINEL;
+  }
+  
+  /**
+   * Store the value in the carrier of the current thread and
+   * returns {@link #LONG_SENTINEL}.
+   * @param value a return value that doesn't fit in a long.
+   * @return {@link #LONG_SENTINEL}.
+   */
+  // called by generated code
+  public static long carryLong(Object value) {
+    CARRIER.get()[0] = value;
+    return LONG_SENTINEL;
+  }
+  
+  /**
+   * Store the value in the carrier of the current thread and
+   * returns the float sentinel.
+   * @param value a return value that doesn't fit in a float.
+   * @return the float with the bits {@link #FLOAT_SENTINEL_BITS}.
+   */
+  // called by generated code
+  public static float carryFloat(Object value) {
+    CARRIER.get()[0] = value;
+    return Float.intBitsToFloat(FLOAT_SENTINEL_BITS);
+  }
+  
+  /**
+   * Store the value in the carrier of the current thread and
+   * returns the double sentinel.
+   * @param value a return value that doesn't fit in a double.
+   * @return the double with the bits {@link #DOUBLE_SENTINEL_BITS}.
+   */
+  // called by generated code
+  public static double carryDouble(Object value) {
+    CARRIER.get()[0] = value;
+    return Double.longBitsToDouble(DOUBLE_SENTINEL_BITS);
+  }
+  
+  /**
+   * Store the value in the carrier of the current thread.
+   * This method is used by the outlined side exits to send back the object part
+   * of a mixed value to the method that has called them.
+   * @param value a value that doesn't fit in the primitive part of a mixed value.
+   */
+  // called by generated code
+  public static void carry(Object value) {
+    CARRIER.get()[0] = value;
+  }
+  
+  /**
+   * Returns and clear the value stored in the carrier of the current thread.
+   * @return the value stored in the carrier or {@link #NONE}
+   *         if the sentinel value was a real return value.
+   */
+  // called by generated code
+  public static Object takeCarried() {
+    Object[] carrier = CARRIER.get();
+    Object value = carrier[0];
+    carrier[0] = NONE;
+    return value;
+  }
+  
+  /**
+   * Clear the carrier of the current thread.
+   * This method is called by a method that returns the sentinel value as a real value,
+   * so the caller never sees a value that was carried but not taken.
+   */
+  // called by generated code
+  public static void clearCarrier() {
+    CARRIER.get()[0] = NONE;
+  }
+  
+  private static final MethodHandle OPTIMISTIC_ERROR_VALUE;
+  private static final HashMap<Class<?>, MethodHandle> OPTIMISTIC_ERROR_EXTRACTOR_MAP;
+  private static final HashMap<Class<?>, MethodHandle> UNMIX_MAP;
   static {
     Lookup lookup = MethodHandles.lookup();
+    HashMap<Class<?>, MethodHandle> extractorMap = new HashMap<>();
+    HashMap<Class<?>, MethodHandle> unmixMap = new HashMap<>();
     try {
-      DECODE_MIXED_VALUES = lookup.findStatic(RT.class, "decodeMixedValues",
-          MethodType.methodType(Object[].class, String.class, Object[].class));
       OPTIMISTIC_ERROR_VALUE = lookup.findVirtual(OptimisticError.class, "value",
           MethodType.methodType(Object.class));
+      extractorMap.put(long.class, lookup.findVirtual(OptimisticError.class, "longValue",
+          MethodType.methodType(long.class)));
+      extractorMap.put(double.class, lookup.findVirtual(OptimisticError.class, "doubleValue",
+          MethodType.methodType(double.class)));
+      for(Class<?> type: new Class<?>[] { int.class, long.class, float.class, double.class, Object.class }) {
+        unmixMap.put(type, lookup.findStatic(RT.class, "unmix",
+            MethodType.methodType(Object.class, type, Object.class)));
+      }
     } catch (NoSuchMethodException | IllegalAccessException e) {
       throw new AssertionError(e);
     }
+    OPTIMISTIC_ERROR_EXTRACTOR_MAP = extractorMap;
+    UNMIX_MAP = unmixMap;
   }
 }
@@ -25,7 +25,7 @@ import com.github.forax.vmboiler.Type;
 import com.github.forax.vmboiler.Var;
 
 public class GCDGen {
-  public enum Types implements Type {
+  public enum Types implements com.github.forax.vmboiler.Type {  // qualified, javac 8 fails to resolve Type with the static imports above
     INT, INT_MIXED, BOOL
     ;
     @Override